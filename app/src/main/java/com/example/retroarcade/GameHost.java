@@ -0,0 +1,105 @@
+package com.example.retroarcade;
+
+import android.os.Debug;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.metrics.PerfMetrics;
+import com.example.retroarcade.view.GameDisplay;
+
+// Runs any GameEngine on the shared fixed-timestep loop and display. Ticks are taken with
+// the engine's monitor held, the same lock the renderer syncs under, so a game only has to
+// implement GameEngine to get the loop, interpolated dirty-region rendering and HUD hooks.
+public class GameHost implements GameLoop.Callback {
+
+    public interface Listener {
+        void onTick();
+        void onGameOver();
+    }
+
+    // Replaces engine.update() for a tick, e.g. to feed recorded input first. Returns
+    // whether the game should keep running.
+    public interface Stepper {
+        boolean step();
+    }
+
+    private final GameEngine engine;
+    private final GameDisplay display;
+    private final Listener listener;
+    private final GameLoop loop = new GameLoop(this);
+    private Stepper stepper;
+    private PerfMetrics metrics;
+
+    public GameHost(GameEngine engine, GameDisplay display, Listener listener) {
+        this.engine = engine;
+        this.display = display;
+        this.listener = listener;
+    }
+
+    public void setStepper(Stepper stepper) {
+        this.stepper = stepper;
+    }
+
+    // Turns on tick, frame and allocation metrics for the loop and display; null turns
+    // them off. Allocation counting slows the runtime down, so it only runs while enabled.
+    public void setMetrics(PerfMetrics metrics) {
+        if (metrics != null && this.metrics == null) Debug.startAllocCounting();
+        if (metrics == null && this.metrics != null) Debug.stopAllocCounting();
+        this.metrics = metrics;
+        loop.setMetrics(metrics);
+        display.setMetrics(metrics);
+    }
+
+    public PerfMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void start() {
+        loop.start();
+    }
+
+    public void stop() {
+        loop.stop();
+    }
+
+    public boolean isRunning() {
+        return loop.isRunning();
+    }
+
+    @Override
+    public long getTickDelayNanos() {
+        return engine.getTickDelayNanos();
+    }
+
+    @Override
+    public boolean step() {
+        boolean playing;
+        PerfMetrics metrics = this.metrics;
+        long allocsBefore = metrics != null ? Debug.getThreadAllocCount() : 0;
+        synchronized (engine) {
+            long start = System.nanoTime();
+            if (stepper != null) {
+                playing = stepper.step();
+            } else {
+                engine.update();
+                playing = engine.isPlaying();
+            }
+            if (metrics != null) metrics.updateNanos.record(System.nanoTime() - start);
+        }
+        if (metrics != null) {
+            metrics.allocationsPerTick.record(Debug.getThreadAllocCount() - allocsBefore);
+        }
+        listener.onTick();
+        return playing;
+    }
+
+    @Override
+    public void render(float alpha) {
+        display.refresh(alpha);
+    }
+
+    @Override
+    public void onGameOver() {
+        display.refresh(1f);
+        listener.onGameOver();
+    }
+}
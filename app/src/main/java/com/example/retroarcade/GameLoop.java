@@ -0,0 +1,97 @@
+package com.example.retroarcade;
+
+import android.view.Choreographer;
+
+import com.example.retroarcade.metrics.PerfMetrics;
+
+// Fixed-timestep scheduler: simulation steps run at the callback's tick rate from an
+// accumulator fed by vsync frame times, and every frame is rendered with the fraction
+// of the next tick that has already elapsed so movement can be interpolated.
+public class GameLoop implements Choreographer.FrameCallback {
+
+    public interface Callback {
+        long getTickDelayNanos();
+        boolean step();
+        void render(float alpha);
+        void onGameOver();
+    }
+
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final Callback callback;
+
+    private boolean running;
+    private long lastFrameNanos;
+    private long accumulator;
+    private PerfMetrics metrics;
+
+    public GameLoop(Callback callback) {
+        this.callback = callback;
+    }
+
+    // Records how far each tick runs behind its place in the fixed schedule, and the ticks
+    // that run late or are dropped; null disables.
+    public void setMetrics(PerfMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        lastFrameNanos = 0;
+        accumulator = callback.getTickDelayNanos();
+        choreographer.postFrameCallback(this);
+    }
+
+    public void stop() {
+        running = false;
+        choreographer.removeFrameCallback(this);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) return;
+
+        if (lastFrameNanos != 0) {
+            accumulator += frameTimeNanos - lastFrameNanos;
+        }
+        lastFrameNanos = frameTimeNanos;
+
+        long delay = callback.getTickDelayNanos();
+        int steps = 0;
+        while (accumulator >= delay) {
+            if (steps == MAX_STEPS_PER_FRAME) {
+                long dropped = accumulator / delay;
+                if (metrics != null) metrics.addDroppedTicks(dropped);
+                accumulator -= dropped * delay;
+                break;
+            }
+
+            if (metrics != null) {
+                // The accumulator past one delay is how long ago this tick was due, so
+                // catch-up ticks in the same frame each report their own lateness.
+                long late = accumulator - delay;
+                metrics.tickJitterNanos.record(late);
+                // Running more than half a tick past its due time.
+                if (late > delay / 2) metrics.addDriftedTicks(1);
+            }
+
+            accumulator -= delay;
+            steps++;
+            if (!callback.step()) {
+                callback.onGameOver();
+                running = false;
+                return;
+            }
+            delay = callback.getTickDelayNanos();
+        }
+
+        callback.render((float) accumulator / delay);
+        choreographer.postFrameCallback(this);
+    }
+}
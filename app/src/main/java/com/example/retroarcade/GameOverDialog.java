@@ -18,22 +18,30 @@ public class GameOverDialog extends DialogFragment {
 
     private int score;
     private int bestScore;
+    private boolean won;
+    private int[] topScores;
+    private boolean hasReplay;
     private GameOverListener listener;
 
     public interface GameOverListener {
         void onRestart();
         void onMenu();
+        void onWatchReplay();
     }
 
     public void setListener(GameOverListener listener) {
         this.listener = listener;
     }
 
-    public static GameOverDialog newInstance(int score, int bestScore) {
+    public static GameOverDialog newInstance(int score, int bestScore, boolean won, int[] topScores,
+                                             boolean hasReplay) {
         GameOverDialog dialog = new GameOverDialog();
         Bundle args = new Bundle();
         args.putInt("SCORE", score);
         args.putInt("BEST", bestScore);
+        args.putBoolean("WON", won);
+        args.putIntArray("TOP", topScores);
+        args.putBoolean("REPLAY", hasReplay);
         dialog.setArguments(args);
         return dialog;
     }
@@ -44,25 +52,50 @@ public class GameOverDialog extends DialogFragment {
         if (getArguments() != null) {
             score = getArguments().getInt("SCORE");
             bestScore = getArguments().getInt("BEST");
+            won = getArguments().getBoolean("WON");
+            topScores = getArguments().getIntArray("TOP");
+            hasReplay = getArguments().getBoolean("REPLAY");
         }
 
         AlertDialog.Builder builder = new AlertDialog.Builder(getActivity());
         LayoutInflater inflater = requireActivity().getLayoutInflater();
         View view = inflater.inflate(R.layout.dialog_game_over, null);
 
+        TextView tvTitle = view.findViewById(R.id.tvTitle);
         TextView tvCurrentScore = view.findViewById(R.id.tvCurrentScore);
         TextView tvBestScore = view.findViewById(R.id.tvBestScore);
+        TextView tvTopScores = view.findViewById(R.id.tvTopScores);
         Button btnRestart = view.findViewById(R.id.btnRestart);
         Button btnMenu = view.findViewById(R.id.btnMenu);
+        Button btnReplay = view.findViewById(R.id.btnReplay);
 
+        if (won) {
+            tvTitle.setText("YOU WIN");
+            tvTitle.setTextColor(Color.parseColor("#4CAF50"));
+        }
         tvCurrentScore.setText("Score: " + score);
         tvBestScore.setText("Best: " + bestScore);
 
+        if (topScores != null && topScores.length > 0) {
+            StringBuilder top = new StringBuilder("Top scores:");
+            for (int i = 0; i < topScores.length; i++) {
+                top.append('\n').append(i + 1).append(". ").append(topScores[i]);
+            }
+            tvTopScores.setText(top);
+            tvTopScores.setVisibility(View.VISIBLE);
+        }
+
         btnRestart.setOnClickListener(v -> {
             if (listener != null) listener.onRestart();
             dismiss();
         });
 
+        if (!hasReplay) btnReplay.setVisibility(View.GONE);
+        btnReplay.setOnClickListener(v -> {
+            if (listener != null) listener.onWatchReplay();
+            dismiss();
+        });
+
         btnMenu.setOnClickListener(v -> {
             if (listener != null) listener.onMenu();
             dismiss();
@@ -1,42 +1,73 @@
 package com.example.retroarcade;
 
-import android.content.SharedPreferences;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
+import android.os.SystemClock;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
 import android.widget.Button;
+import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.retroarcade.data.BestRunStore;
+import com.example.retroarcade.data.GameRecord;
+import com.example.retroarcade.data.HighScores;
+import com.example.retroarcade.data.PerfLog;
+import com.example.retroarcade.data.ScoreHistory;
+import com.example.retroarcade.data.SnapshotStore;
+import com.example.retroarcade.engine.GameInput;
+import com.example.retroarcade.metrics.PerfMetrics;
 import com.example.retroarcade.model.SnakeGame;
-import com.example.retroarcade.view.SnakeView;
+import com.example.retroarcade.replay.GhostRun;
+import com.example.retroarcade.replay.ReplayPlayer;
+import com.example.retroarcade.replay.ReplayRecorder;
+import com.example.retroarcade.view.GameDisplay;
+import com.example.retroarcade.view.GameSurfaceView;
+import com.example.retroarcade.view.GameView;
+import com.example.retroarcade.view.SnakePalette;
 
 public class MainActivity extends AppCompatActivity implements View.OnTouchListener {
 
+    private static final String KEY_SNAPSHOT = "KEY_SNAPSHOT";
+    private static final String KEY_PLAYED_MILLIS = "KEY_PLAYED_MILLIS";
+    private static final int LARGE_BOARD_SIZE = 1000;
+    private static final int GHOST_ALPHA = 80;
+
     private SnakeGame game;
-    private SnakeView snakeView;
-    private TextView scoreText;
+    private GameDisplay gameDisplay;
+    private ScoreHud scoreHud;
+    private HighScores highScores;
+    private ScoreHistory scoreHistory;
+    private SnapshotStore snapshotStore;
+    private BestRunStore bestRunStore;
+    private long playedMillis;
+    private long resumedAt;
+
+    private final ReplayRecorder replayRecorder = new ReplayRecorder();
+    private byte[] lastReplay;
+    private ReplayPlayer replayPlayer;
+
+    // The personal best for this difficulty, raced as a ghost by games dealt from its seed.
+    private GhostRun ghost;
+    private final SnakePalette ghostPalette = new SnakePalette(GHOST_ALPHA);
+    private final GameHost.Stepper playStepper = this::stepWithGhost;
 
     private Button btnPause;
     private TextView txtPausedOverlay;
     private boolean isPaused = false;
+    // Whether the saved game and best run have been read; until then nothing can start.
+    private boolean loaded;
 
     private LinearLayout controlsLayout;
     private TextView txtSwipeHint;
     private boolean useButtons;
+    private boolean largeBoard;
 
     private SnakeGame.Difficulty currentDifficulty;
-    private Handler handler;
-    private Runnable gameLoop;
-
-    private final long START_SPEED = 200;
-    private final long MIN_SPEED_DELAY = 60;
-    private final long SPEED_DECREASE_PER_POINT = 5;
+    private GameHost host;
 
     private GestureDetector gestureDetector;
 
@@ -45,8 +76,12 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        snakeView = findViewById(R.id.snakeView);
-        scoreText = findViewById(R.id.scoreText);
+        FrameLayout gameContainer = findViewById(R.id.gameContainer);
+        scoreHud = new ScoreHud(findViewById(R.id.scoreText));
+        highScores = new HighScores(this);
+        scoreHistory = ScoreHistory.getInstance(this);
+        snapshotStore = SnapshotStore.getInstance(this);
+        bestRunStore = BestRunStore.getInstance(this);
         controlsLayout = findViewById(R.id.controlsLayout);
         txtSwipeHint = findViewById(R.id.txtSwipeHint);
 
@@ -63,6 +98,7 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
         }
 
         useButtons = getIntent().getBooleanExtra("KEY_USE_BUTTONS", false);
+        largeBoard = getIntent().getBooleanExtra("KEY_LARGE_BOARD", false);
 
         if (useButtons) {
             controlsLayout.setVisibility(View.VISIBLE);
@@ -73,18 +109,117 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
             txtSwipeHint.setVisibility(View.VISIBLE);
         }
 
+        if (getIntent().getBooleanExtra("KEY_RENDER_THREAD", false)) {
+            gameDisplay = new GameSurfaceView(this);
+        } else {
+            gameDisplay = new GameView(this);
+        }
+        gameContainer.addView(gameDisplay.getView(), new FrameLayout.LayoutParams(
+                FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT));
+
         game = new SnakeGame();
-        game.startNewGame(currentDifficulty);
-        snakeView.setGame(game);
+        gameDisplay.setGame(game, new SnakePalette());
 
         gestureDetector = new GestureDetector(this, new SwipeGestureListener());
-        snakeView.setOnTouchListener(this);
+        gameDisplay.getView().setOnTouchListener(this);
+
+        setupHost();
+        if (getIntent().getBooleanExtra("KEY_PERF_HUD", false)) {
+            host.setMetrics(new PerfMetrics());
+        }
+
+        // Both files are read off the main thread. A snapshot from the instance state is
+        // newer than the stored one, and only it carries the time already played.
+        byte[] instanceSnapshot = savedInstanceState != null
+                ? savedInstanceState.getByteArray(KEY_SNAPSHOT) : null;
+        long instancePlayedMillis = savedInstanceState != null
+                ? savedInstanceState.getLong(KEY_PLAYED_MILLIS) : 0;
+        bestRunStore.load(currentDifficulty, run -> {
+            setGhost(run);
+            if (instanceSnapshot != null) {
+                onSavedStateLoaded(instanceSnapshot, instancePlayedMillis);
+            } else {
+                snapshotStore.load(snapshot -> onSavedStateLoaded(snapshot, 0));
+            }
+        });
+    }
+
+    private void onSavedStateLoaded(byte[] snapshot, long played) {
+        if (isDestroyed()) return;
+        synchronized (game) {
+            if (snapshot != null && restoreGame(snapshot)) {
+                playedMillis = played;
+            } else {
+                startNewGame();
+            }
+            // A fresh game is re-dealt on the large board with the same seed.
+            if (largeBoard) game.lockBoardSize(LARGE_BOARD_SIZE, LARGE_BOARD_SIZE);
+        }
+        loaded = true;
+        updateScoreUI();
+        showPaused();
+    }
+
+    // A missing or damaged file just means there is no ghost to race.
+    private void setGhost(byte[] run) {
+        GhostRun best = null;
+        if (run != null) {
+            try {
+                best = new GhostRun(run);
+            } catch (RuntimeException e) {
+                best = null;
+            }
+        }
+        ghost = best;
+        gameDisplay.setOverlay(ghost, ghostPalette);
+    }
 
-        setupGameLoop();
+    // Fresh games are dealt from the personal best's seed so its ghost can race them.
+    private void startNewGame() {
+        if (ghost != null) {
+            game.startNewGame(currentDifficulty, ghost.getSeed());
+        } else {
+            game.startNewGame(currentDifficulty);
+        }
+        replayRecorder.start(game);
+    }
+
+    // Normal play. The ghost starts with a game's first tick, once the board has been fitted
+    // to the view, and only shows if that game is the same deal; then it moves in step.
+    private boolean stepWithGhost() {
+        GhostRun ghost = this.ghost;
+        if (ghost != null && game.getTick() == 0) ghost.start(game);
+        game.update();
+        if (ghost != null) ghost.step();
+        return game.isPlaying();
+    }
+
+    // A restored game resumes where it stopped, but its replay can't be rebuilt, so it
+    // isn't recorded.
+    private boolean restoreGame(byte[] snapshot) {
+        try {
+            game.restoreSnapshot(snapshot);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return game.isPlaying() && game.getDifficulty() == currentDifficulty
+                && (game.getWidth() == LARGE_BOARD_SIZE) == largeBoard;
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (!loaded) return;
+        synchronized (game) {
+            if (game.isPlaying() && replayPlayer == null) {
+                outState.putByteArray(KEY_SNAPSHOT, game.saveSnapshot());
+            }
+        }
+        outState.putLong(KEY_PLAYED_MILLIS, playedMillis);
     }
 
     private void togglePause() {
-        if (!game.isPlaying()) return;
+        if (!loaded || !game.isPlaying()) return;
 
         if (isPaused) {
             isPaused = false;
@@ -92,23 +227,27 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
             btnPause.setText("⏸");
             txtPausedOverlay.setVisibility(View.GONE);
         } else {
-            isPaused = true;
             stopGame();
-            btnPause.setText("▶");
-            txtPausedOverlay.setVisibility(View.VISIBLE);
+            showPaused();
         }
     }
 
+    private void showPaused() {
+        isPaused = true;
+        btnPause.setText("▶");
+        txtPausedOverlay.setVisibility(View.VISIBLE);
+    }
+
     private void setupButtonListeners() {
-        findViewById(R.id.btnUp).setOnClickListener(v -> handleInput(SnakeGame.Direction.UP));
-        findViewById(R.id.btnDown).setOnClickListener(v -> handleInput(SnakeGame.Direction.DOWN));
-        findViewById(R.id.btnLeft).setOnClickListener(v -> handleInput(SnakeGame.Direction.LEFT));
-        findViewById(R.id.btnRight).setOnClickListener(v -> handleInput(SnakeGame.Direction.RIGHT));
+        findViewById(R.id.btnUp).setOnClickListener(v -> handleInput(GameInput.UP));
+        findViewById(R.id.btnDown).setOnClickListener(v -> handleInput(GameInput.DOWN));
+        findViewById(R.id.btnLeft).setOnClickListener(v -> handleInput(GameInput.LEFT));
+        findViewById(R.id.btnRight).setOnClickListener(v -> handleInput(GameInput.RIGHT));
     }
 
-    private void handleInput(SnakeGame.Direction dir) {
-        if (game.isPlaying() && !isPaused) {
-            game.setDirection(dir);
+    private void handleInput(GameInput input) {
+        if (game.isPlaying() && !isPaused && replayPlayer == null) {
+            game.onInput(input);
         }
     }
 
@@ -124,48 +263,92 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
     protected void onPause() {
         super.onPause();
         stopGame();
-        if (game.isPlaying()) {
-            isPaused = true;
-            btnPause.setText("▶");
-            txtPausedOverlay.setVisibility(View.VISIBLE);
+        if (!loaded) return;
+        if (game.isPlaying() && replayPlayer == null) {
+            synchronized (game) {
+                snapshotStore.save(game.saveSnapshot());
+            }
         }
+        if (game.isPlaying()) showPaused();
     }
 
-    private void setupGameLoop() {
-        handler = new Handler(Looper.getMainLooper());
-        gameLoop = new Runnable() {
+    private void setupHost() {
+        host = new GameHost(game, gameDisplay, new GameHost.Listener() {
             @Override
-            public void run() {
-                if (game.isPlaying()) {
-                    game.update();
-                    snakeView.invalidate();
-                    updateScoreUI();
-                    long currentSpeed = calculateCurrentSpeed();
-                    handler.postDelayed(this, currentSpeed);
+            public void onTick() {
+                updateScoreUI();
+            }
+
+            @Override
+            public void onGameOver() {
+                stopGame();
+                if (replayPlayer != null) {
+                    replayPlayer = null;
+                    host.setStepper(playStepper);
                 } else {
-                    saveScore();
-                    stopGame();
+                    lastReplay = replayRecorder.isRecording() ? replayRecorder.finish() : null;
+                    snapshotStore.clear();
+                    if (saveScore() && lastReplay != null) saveBestRun(lastReplay);
+                    dumpMetrics();
+                }
+                if (ghost != null) {
+                    synchronized (game) {
+                        ghost.stop();
+                    }
+                }
 
-                    isPaused = false;
-                    btnPause.setText("⏸");
-                    txtPausedOverlay.setVisibility(View.GONE);
+                isPaused = false;
+                btnPause.setText("⏸");
+                txtPausedOverlay.setVisibility(View.GONE);
 
-                    showGameOverDialog();
-                }
+                showGameOverDialog();
             }
-        };
+        });
+        host.setStepper(playStepper);
+    }
+
+    private void saveBestRun(byte[] replay) {
+        bestRunStore.save(currentDifficulty, replay);
+        setGhost(replay);
     }
 
     private void showGameOverDialog() {
         int currentScore = game.getScore();
         int bestScore = getBestScore();
+        boolean won = game.isWon();
 
-        GameOverDialog dialog = GameOverDialog.newInstance(currentScore, bestScore);
+        scoreHistory.loadTopScores(currentDifficulty, 5, records -> {
+            if (isFinishing() || getSupportFragmentManager().isStateSaved()) return;
+
+            int[] topScores = new int[records.size()];
+            for (int i = 0; i < topScores.length; i++) topScores[i] = records.get(i).score;
+            showGameOverDialog(currentScore, bestScore, won, topScores);
+        });
+    }
+
+    private void showGameOverDialog(int currentScore, int bestScore, boolean won, int[] topScores) {
+        GameOverDialog dialog = GameOverDialog.newInstance(currentScore, bestScore, won, topScores,
+                lastReplay != null);
 
         dialog.setListener(new GameOverDialog.GameOverListener() {
             @Override
             public void onRestart() {
-                game.startNewGame(currentDifficulty);
+                synchronized (game) {
+                    startNewGame();
+                }
+                playedMillis = 0;
+                startGame();
+            }
+
+            @Override
+            public void onWatchReplay() {
+                if (lastReplay == null) return;
+                ReplayPlayer player = new ReplayPlayer(lastReplay);
+                synchronized (game) {
+                    player.reset(game);
+                }
+                replayPlayer = player;
+                host.setStepper(() -> player.step(game));
                 startGame();
             }
 
@@ -188,39 +371,40 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
     }
 
     private void updateScoreUI() {
-        StringBuilder hearts = new StringBuilder();
-        for (int i = 0; i < game.getLives(); i++) hearts.append("❤️");
-        int best = getBestScore();
-        if (game.getScore() > best) best = game.getScore();
-        scoreText.setText("Score: " + game.getScore() + " (Best: " + best + ")\n" + "Lives: " + hearts.toString());
+        scoreHud.update(game.getScore(), getBestScore(), game.getLives());
     }
 
-    private long calculateCurrentSpeed() {
-        long currentDelay = START_SPEED - (game.getScore() * SPEED_DECREASE_PER_POINT);
-        if (currentDelay < MIN_SPEED_DELAY) return MIN_SPEED_DELAY;
-        return currentDelay;
+    // Returns whether the score is a new personal best.
+    private boolean saveScore() {
+        boolean best = highScores.submit(currentDifficulty, game.getScore());
+        scoreHistory.record(new GameRecord(currentDifficulty, game.getScore(), game.getSnakeLength(),
+                playedMillis, game.getTick(), game.getSeed(), System.currentTimeMillis()));
+        return best;
     }
 
-    private void saveScore() {
-        SharedPreferences prefs = getSharedPreferences("SnakeGamePrefs", MODE_PRIVATE);
-        String key = "HIGH_SCORE_" + currentDifficulty.name();
-        if (game.getScore() > prefs.getInt(key, 0)) {
-            prefs.edit().putInt(key, game.getScore()).apply();
-        }
+    private void dumpMetrics() {
+        PerfMetrics metrics = host.getMetrics();
+        if (metrics == null) return;
+        PerfLog.getInstance(this).dump(currentDifficulty.name()
+                + " score=" + game.getScore() + " ticks=" + game.getTick(), metrics);
+        metrics.reset();
     }
 
     private int getBestScore() {
-        SharedPreferences prefs = getSharedPreferences("SnakeGamePrefs", MODE_PRIVATE);
-        return prefs.getInt("HIGH_SCORE_" + currentDifficulty.name(), 0);
+        return highScores.getBest(currentDifficulty);
     }
 
     private void startGame() {
         stopGame();
-        handler.post(gameLoop);
+        resumedAt = SystemClock.elapsedRealtime();
+        host.start();
     }
 
     private void stopGame() {
-        handler.removeCallbacks(gameLoop);
+        if (host.isRunning()) {
+            playedMillis += SystemClock.elapsedRealtime() - resumedAt;
+        }
+        host.stop();
     }
 
     private class SwipeGestureListener extends GestureDetector.SimpleOnGestureListener {
@@ -229,21 +413,19 @@ public class MainActivity extends AppCompatActivity implements View.OnTouchListe
 
         @Override
         public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-            if (useButtons || isPaused) return false;
+            if (useButtons || isPaused || replayPlayer != null) return false;
 
             float diffX = e2.getX() - e1.getX();
             float diffY = e2.getY() - e1.getY();
 
             if (Math.abs(diffX) > Math.abs(diffY)) {
                 if (Math.abs(diffX) > SWIPE_THRESHOLD && Math.abs(velocityX) > SWIPE_VELOCITY_THRESHOLD) {
-                    if (diffX > 0) game.setDirection(SnakeGame.Direction.RIGHT);
-                    else game.setDirection(SnakeGame.Direction.LEFT);
+                    handleInput(diffX > 0 ? GameInput.RIGHT : GameInput.LEFT);
                     return true;
                 }
             } else {
                 if (Math.abs(diffY) > SWIPE_THRESHOLD && Math.abs(velocityY) > SWIPE_VELOCITY_THRESHOLD) {
-                    if (diffY > 0) game.setDirection(SnakeGame.Direction.DOWN);
-                    else game.setDirection(SnakeGame.Direction.UP);
+                    handleInput(diffY > 0 ? GameInput.DOWN : GameInput.UP);
                     return true;
                 }
             }
@@ -3,6 +3,7 @@ package com.example.retroarcade;
 import android.content.Intent;
 import android.os.Bundle;
 import android.widget.Button;
+import android.widget.CheckBox;
 import android.widget.RadioButton;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.retroarcade.model.SnakeGame;
@@ -10,6 +11,9 @@ import com.example.retroarcade.model.SnakeGame;
 public class MenuActivity extends AppCompatActivity {
 
     private RadioButton radioButtons;
+    private RadioButton radioRenderThread;
+    private CheckBox checkPerfHud;
+    private CheckBox checkLargeBoard;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -21,6 +25,9 @@ public class MenuActivity extends AppCompatActivity {
         Button btnHard = findViewById(R.id.btnHard);
 
         radioButtons = findViewById(R.id.radioButtons);
+        radioRenderThread = findViewById(R.id.radioRenderThread);
+        checkPerfHud = findViewById(R.id.checkPerfHud);
+        checkLargeBoard = findViewById(R.id.checkLargeBoard);
 
         btnEasy.setOnClickListener(v -> startGame(SnakeGame.Difficulty.EASY));
         btnMedium.setOnClickListener(v -> startGame(SnakeGame.Difficulty.MEDIUM));
@@ -33,6 +40,9 @@ public class MenuActivity extends AppCompatActivity {
 
         boolean useButtons = radioButtons.isChecked();
         intent.putExtra("KEY_USE_BUTTONS", useButtons);
+        intent.putExtra("KEY_RENDER_THREAD", radioRenderThread.isChecked());
+        intent.putExtra("KEY_PERF_HUD", checkPerfHud.isChecked());
+        intent.putExtra("KEY_LARGE_BOARD", checkLargeBoard.isChecked());
 
         startActivity(intent);
     }
@@ -0,0 +1,31 @@
+package com.example.retroarcade;
+
+import android.widget.TextView;
+
+public class ScoreHud {
+    private final TextView scoreText;
+    private final StringBuilder text = new StringBuilder(64);
+
+    private int shownScore = -1;
+    private int shownBest = -1;
+    private int shownLives = -1;
+
+    public ScoreHud(TextView scoreText) {
+        this.scoreText = scoreText;
+    }
+
+    public void update(int score, int best, int lives) {
+        if (best < score) best = score;
+        if (score == shownScore && best == shownBest && lives == shownLives) return;
+
+        shownScore = score;
+        shownBest = best;
+        shownLives = lives;
+
+        text.setLength(0);
+        text.append("Score: ").append(score).append(" (Best: ").append(best).append(")\n");
+        text.append("Lives: ");
+        for (int i = 0; i < lives; i++) text.append("❤️");
+        scoreText.setText(text);
+    }
+}
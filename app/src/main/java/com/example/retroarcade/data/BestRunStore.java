@@ -0,0 +1,37 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// Keeps the replay of the personal-best run for each difficulty, for racing against as a
+// ghost. Replays are a few kilobytes, so each is one small private file.
+public class BestRunStore {
+
+    private static BestRunStore instance;
+
+    private final FileStore files;
+
+    public static synchronized BestRunStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new BestRunStore(FileStore.getInstance(context));
+        }
+        return instance;
+    }
+
+    private BestRunStore(FileStore files) {
+        this.files = files;
+    }
+
+    private static String fileName(SnakeGame.Difficulty difficulty) {
+        return "best_run_" + difficulty.name() + ".bin";
+    }
+
+    public void save(SnakeGame.Difficulty difficulty, byte[] replay) {
+        files.save(fileName(difficulty), replay);
+    }
+
+    public void load(SnakeGame.Difficulty difficulty, FileStore.Callback callback) {
+        files.load(fileName(difficulty), callback);
+    }
+}
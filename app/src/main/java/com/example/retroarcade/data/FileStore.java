@@ -0,0 +1,74 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Small private files, each written whole through AtomicFile. Saves, loads and deletes run
+// in order on one background thread, so a load always sees the latest save; loaded bytes,
+// or null when the file is missing or unreadable, are delivered on the main thread.
+public class FileStore {
+
+    public interface Callback {
+        void onLoaded(byte[] data);
+    }
+
+    private static FileStore instance;
+
+    private final File dir;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    static synchronized FileStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new FileStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private FileStore(Context context) {
+        dir = context.getFilesDir();
+    }
+
+    private AtomicFile file(String name) {
+        return new AtomicFile(new File(dir, name));
+    }
+
+    void save(String name, byte[] data) {
+        executor.execute(() -> {
+            AtomicFile file = file(name);
+            FileOutputStream out = null;
+            try {
+                out = file.startWrite();
+                out.write(data);
+                file.finishWrite(out);
+            } catch (IOException e) {
+                if (out != null) file.failWrite(out);
+            }
+        });
+    }
+
+    void load(String name, Callback callback) {
+        executor.execute(() -> {
+            byte[] data;
+            try {
+                data = file(name).readFully();
+            } catch (IOException e) {
+                data = null;
+            }
+            byte[] result = data;
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    void delete(String name) {
+        executor.execute(() -> file(name).delete());
+    }
+}
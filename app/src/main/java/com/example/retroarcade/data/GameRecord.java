@@ -0,0 +1,24 @@
+package com.example.retroarcade.data;
+
+import com.example.retroarcade.model.SnakeGame;
+
+public class GameRecord {
+    public final SnakeGame.Difficulty difficulty;
+    public final int score;
+    public final int length;
+    public final long durationMillis;
+    public final int ticks;
+    public final long seed;
+    public final long finishedAt;
+
+    public GameRecord(SnakeGame.Difficulty difficulty, int score, int length,
+                      long durationMillis, int ticks, long seed, long finishedAt) {
+        this.difficulty = difficulty;
+        this.score = score;
+        this.length = length;
+        this.durationMillis = durationMillis;
+        this.ticks = ticks;
+        this.seed = seed;
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.example.retroarcade.model.SnakeGame;
+
+public class HighScores {
+    private static final String PREFS_NAME = "SnakeGamePrefs";
+
+    private final SharedPreferences prefs;
+    private final int[] best = new int[SnakeGame.Difficulty.values().length];
+
+    public HighScores(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        for (SnakeGame.Difficulty difficulty : SnakeGame.Difficulty.values()) {
+            best[difficulty.ordinal()] = prefs.getInt(key(difficulty), 0);
+        }
+    }
+
+    public int getBest(SnakeGame.Difficulty difficulty) {
+        return best[difficulty.ordinal()];
+    }
+
+    public boolean submit(SnakeGame.Difficulty difficulty, int score) {
+        if (score <= best[difficulty.ordinal()]) return false;
+        best[difficulty.ordinal()] = score;
+        prefs.edit().putInt(key(difficulty), score).apply();
+        return true;
+    }
+
+    private static String key(SnakeGame.Difficulty difficulty) {
+        return "HIGH_SCORE_" + difficulty.name();
+    }
+}
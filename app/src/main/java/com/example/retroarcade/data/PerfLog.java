@@ -0,0 +1,58 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+
+import com.example.retroarcade.metrics.PerfMetrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Dumps performance metrics to logcat and appends them to perf_metrics.txt in the app's
+// private files, tagged with the device and a label, so runs can be compared across
+// devices and builds. The file is written on a background thread.
+public class PerfLog {
+
+    private static final String TAG = "RetroArcadePerf";
+    private static final String FILE_NAME = "perf_metrics.txt";
+
+    private static PerfLog instance;
+
+    private final File file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    public static synchronized PerfLog getInstance(Context context) {
+        if (instance == null) {
+            instance = new PerfLog(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private PerfLog(Context context) {
+        file = new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    public void dump(String label, PerfMetrics metrics) {
+        StringBuilder report = new StringBuilder(512);
+        report.append("# ").append(Build.MANUFACTURER).append(' ').append(Build.MODEL)
+                .append(" sdk=").append(Build.VERSION.SDK_INT)
+                .append(" at=").append(System.currentTimeMillis())
+                .append(' ').append(label).append('\n');
+        metrics.appendReport(report);
+        String text = report.toString();
+
+        for (String line : text.split("\n")) Log.i(TAG, line);
+        executor.execute(() -> {
+            try (Writer out = new FileWriter(file, true)) {
+                out.write(text);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not write " + file, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.retroarcade.model.SnakeGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Score history in a local SQLite table. Finished games are queued and written in
+// one transaction on a single background thread; queries run on the same thread
+// after any pending writes and deliver their results on the main thread.
+public class ScoreHistory {
+
+    public interface Callback {
+        void onResult(List<GameRecord> records);
+    }
+
+    private static final long FLUSH_DELAY_MS = 500;
+    private static final int FLUSH_BATCH_SIZE = 32;
+
+    private static ScoreHistory instance;
+
+    private final DbHelper helper;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final List<GameRecord> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public static synchronized ScoreHistory getInstance(Context context) {
+        if (instance == null) {
+            instance = new ScoreHistory(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ScoreHistory(Context context) {
+        helper = new DbHelper(context);
+    }
+
+    public void record(GameRecord record) {
+        synchronized (pending) {
+            pending.add(record);
+            if (pending.size() >= FLUSH_BATCH_SIZE) {
+                executor.execute(this::flush);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public void loadTopScores(SnakeGame.Difficulty difficulty, int limit, Callback callback) {
+        executor.execute(() -> {
+            flush();
+            List<GameRecord> result = query(
+                    "SELECT * FROM " + DbHelper.TABLE + " WHERE difficulty = ?"
+                            + " ORDER BY score DESC, finished_at ASC LIMIT " + limit,
+                    new String[]{difficulty.name()});
+            mainHandler.post(() -> callback.onResult(result));
+        });
+    }
+
+    public void loadRecent(int limit, Callback callback) {
+        executor.execute(() -> {
+            flush();
+            List<GameRecord> result = query(
+                    "SELECT * FROM " + DbHelper.TABLE + " ORDER BY finished_at DESC LIMIT " + limit,
+                    null);
+            mainHandler.post(() -> callback.onResult(result));
+        });
+    }
+
+    private void flush() {
+        List<GameRecord> batch;
+        synchronized (pending) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        SQLiteDatabase db = helper.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + DbHelper.TABLE
+                + " (difficulty, score, length, duration_ms, ticks, seed, finished_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (GameRecord record : batch) {
+                insert.bindString(1, record.difficulty.name());
+                insert.bindLong(2, record.score);
+                insert.bindLong(3, record.length);
+                insert.bindLong(4, record.durationMillis);
+                insert.bindLong(5, record.ticks);
+                insert.bindLong(6, record.seed);
+                insert.bindLong(7, record.finishedAt);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    private List<GameRecord> query(String sql, String[] args) {
+        List<GameRecord> result = new ArrayList<>();
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery(sql, args)) {
+            int difficulty = cursor.getColumnIndexOrThrow("difficulty");
+            int score = cursor.getColumnIndexOrThrow("score");
+            int length = cursor.getColumnIndexOrThrow("length");
+            int duration = cursor.getColumnIndexOrThrow("duration_ms");
+            int ticks = cursor.getColumnIndexOrThrow("ticks");
+            int seed = cursor.getColumnIndexOrThrow("seed");
+            int finishedAt = cursor.getColumnIndexOrThrow("finished_at");
+            while (cursor.moveToNext()) {
+                result.add(new GameRecord(
+                        SnakeGame.Difficulty.valueOf(cursor.getString(difficulty)),
+                        cursor.getInt(score),
+                        cursor.getInt(length),
+                        cursor.getLong(duration),
+                        cursor.getInt(ticks),
+                        cursor.getLong(seed),
+                        cursor.getLong(finishedAt)));
+            }
+        }
+        return result;
+    }
+
+    private static class DbHelper extends SQLiteOpenHelper {
+        static final String TABLE = "score_history";
+        private static final String NAME = "score_history.db";
+        private static final int VERSION = 1;
+
+        DbHelper(Context context) {
+            super(context, NAME, null, VERSION);
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLE + " ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "difficulty TEXT NOT NULL, "
+                    + "score INTEGER NOT NULL, "
+                    + "length INTEGER NOT NULL, "
+                    + "duration_ms INTEGER NOT NULL, "
+                    + "ticks INTEGER NOT NULL, "
+                    + "seed INTEGER NOT NULL, "
+                    + "finished_at INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX idx_score_history_top ON " + TABLE + " (difficulty, score DESC)");
+            db.execSQL("CREATE INDEX idx_score_history_recent ON " + TABLE + " (finished_at DESC)");
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+            onCreate(db);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.retroarcade.data;
+
+import android.content.Context;
+
+// Keeps the snapshot of the game in progress in a small private file so it survives the
+// process being killed.
+public class SnapshotStore {
+
+    private static final String FILE_NAME = "game_snapshot.bin";
+
+    private static SnapshotStore instance;
+
+    private final FileStore files;
+
+    public static synchronized SnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SnapshotStore(FileStore.getInstance(context));
+        }
+        return instance;
+    }
+
+    private SnapshotStore(FileStore files) {
+        this.files = files;
+    }
+
+    public void save(byte[] snapshot) {
+        files.save(FILE_NAME, snapshot);
+    }
+
+    public void load(FileStore.Callback callback) {
+        files.load(FILE_NAME, callback);
+    }
+
+    public void clear() {
+        files.delete(FILE_NAME);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.retroarcade.view;
+
+import android.graphics.Rect;
+
+// Maps the engine's primitive cell coordinates onto view pixels. Boards are fitted to the
+// view, but blocks never shrink below 1/MIN_CELLS_ACROSS of its short side; bigger boards
+// overflow the view and the renderer scrolls through them.
+public class BoardGeometry {
+
+    private static final int MIN_CELLS_ACROSS = 40;
+
+    private int blockSize = 1;
+
+    public void update(int viewWidth, int viewHeight, int boardWidth, int boardHeight) {
+        int fitted = Math.min(viewWidth / boardWidth, viewHeight / boardHeight);
+        int smallest = Math.min(viewWidth, viewHeight) / MIN_CELLS_ACROSS;
+        blockSize = Math.max(1, Math.max(fitted, smallest));
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int left(int x) {
+        return x * blockSize;
+    }
+
+    public int top(int y) {
+        return y * blockSize;
+    }
+
+    public float centerX(float x) {
+        return x * blockSize + blockSize / 2f;
+    }
+
+    public float centerY(float y) {
+        return y * blockSize + blockSize / 2f;
+    }
+
+    public void cellBounds(int x, int y, Rect out) {
+        out.set(x * blockSize, y * blockSize, (x + 1) * blockSize, (y + 1) * blockSize);
+    }
+}
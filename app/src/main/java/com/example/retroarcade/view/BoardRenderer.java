@@ -0,0 +1,428 @@
+package com.example.retroarcade.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.SpriteSink;
+import com.example.retroarcade.engine.TileLayer;
+
+import java.util.Arrays;
+
+// Draws any GameEngine: static tiles are cached in square chunk bitmaps that are patched
+// from the engine's dirty cells, and sprites are drawn on top, interpolated between their
+// two cells by the fraction of the tick that has elapsed. Boards bigger than the view are
+// shown through a camera centred on the engine's focus; the chunk pool is sized to cover
+// the view, not the board, and chunks scrolling into view are drawn as they are claimed.
+// An optional overlay layer on the same grid, such as a ghost run, is cached in the same
+// chunks, its tiles drawn over the game's in their own palette, and its sprites are drawn
+// under the game's.
+public class BoardRenderer implements SpriteSink {
+
+    // Side of a chunk, in cells.
+    private static final int CHUNK_CELLS = 8;
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+
+    private GameEngine game;
+    private TilePalette palette;
+    private Paint paintGrid;
+    private Paint paintBackground;
+    private final BoardGeometry geometry = new BoardGeometry();
+    private final Rect cellBounds = new Rect();
+
+    private Chunk[] pool = NO_CHUNKS;
+    private Chunk[] visible = NO_CHUNKS;
+    private int visibleCount;
+    private int frame;
+    private int chunkPixels;
+    private int poolViewWidth;
+    private int poolViewHeight;
+    private int poolBlockSize;
+    private int poolBoardWidth;
+    private int poolBoardHeight;
+
+    // Top-left of the view in board pixels.
+    private int cameraX;
+    private int cameraY;
+    private boolean hasFocus;
+    private final int[] focus = new int[4];
+
+    // Sprites captured by the last sync(): tile, from x/y, to x/y.
+    private static final int SPRITE_FIELDS = 5;
+    private int[] sprites = new int[8 * SPRITE_FIELDS];
+    private int spriteCount;
+    private int[] previousSprites = new int[8 * SPRITE_FIELDS];
+    private int previousSpriteCount;
+
+    private TileLayer overlay;
+    private TilePalette overlayPalette;
+    private boolean overlayChanged;
+    private SpriteList overlaySprites = new SpriteList();
+    private SpriteList previousOverlaySprites = new SpriteList();
+
+    private float alpha = 1f;
+    private final Rect dirtyBounds = new Rect();
+
+    public BoardRenderer() {
+        paintGrid = new Paint();
+        paintGrid.setColor(Color.parseColor("#333333"));
+        paintGrid.setStrokeWidth(2);
+
+        paintBackground = new Paint();
+        paintBackground.setColor(Color.BLACK);
+    }
+
+    public void setGame(GameEngine game, TilePalette palette) {
+        this.game = game;
+        this.palette = palette;
+        spriteCount = 0;
+    }
+
+    // A second layer drawn in its own palette, e.g. a translucent one; null removes it.
+    public void setOverlay(TileLayer overlay, TilePalette palette) {
+        this.overlay = overlay;
+        this.overlayPalette = palette;
+        overlayChanged = true;
+    }
+
+    // Copies the game's changes into the cached chunks. Must be called with the game locked;
+    // draw() only touches renderer state afterwards and can run without the lock.
+    // Cells under last frame's and this frame's sprites, the overlay's included, are redrawn
+    // as well, since a sprite moving on leaves behind a tile nothing reported as changed.
+    public boolean sync(int w, int h) {
+        dirtyBounds.setEmpty();
+        if (game == null || w == 0 || h == 0) return false;
+
+        addCells(sprites, spriteCount);
+        addCells(overlaySprites.list, overlaySprites.count);
+        int[] swap = previousSprites;
+        previousSprites = sprites;
+        previousSpriteCount = spriteCount;
+        sprites = swap;
+        spriteCount = 0;
+        hasFocus = false;
+        game.emitSprites(this);
+        SpriteList swapList = previousOverlaySprites;
+        previousOverlaySprites = overlaySprites;
+        overlaySprites = swapList;
+        overlaySprites.count = 0;
+        if (overlay != null) overlay.emitSprites(overlaySprites);
+
+        boolean fresh = !ensurePool(w, h);
+        boolean moved = updateCamera(w, h);
+        if (fresh || game.needsFullRedraw() || overlayChanged
+                || (overlay != null && overlay.needsFullRedraw())) {
+            for (Chunk chunk : pool) chunk.valid = false;
+            dirtyBounds.set(0, 0, w, h);
+        } else {
+            if (moved) dirtyBounds.set(0, 0, w, h);
+            for (int i = 0; i < game.getDirtyCount(); i++) {
+                int x = game.getDirtyX(i);
+                int y = game.getDirtyY(i);
+                drawCell(x, y);
+                addDirtyCell(x, y);
+            }
+            if (overlay != null) {
+                for (int i = 0; i < overlay.getDirtyCount(); i++) {
+                    int x = overlay.getDirtyX(i);
+                    int y = overlay.getDirtyY(i);
+                    drawCell(x, y);
+                    addDirtyCell(x, y);
+                }
+            }
+            redrawSpriteCells(previousSprites, previousSpriteCount);
+            redrawSpriteCells(sprites, spriteCount);
+            redrawSpriteCells(previousOverlaySprites.list, previousOverlaySprites.count);
+            redrawSpriteCells(overlaySprites.list, overlaySprites.count);
+        }
+        game.clearDirtyCells();
+        if (overlay != null) overlay.clearDirtyCells();
+        overlayChanged = false;
+        claimVisibleChunks(w, h);
+
+        addCells(sprites, spriteCount);
+        addCells(overlaySprites.list, overlaySprites.count);
+        return true;
+    }
+
+    @Override
+    public void sprite(int tile, int fromX, int fromY, int toX, int toY) {
+        int base = spriteCount * SPRITE_FIELDS;
+        if (base == sprites.length) sprites = Arrays.copyOf(sprites, base * 2);
+        sprites[base] = tile;
+        sprites[base + 1] = fromX;
+        sprites[base + 2] = fromY;
+        sprites[base + 3] = toX;
+        sprites[base + 4] = toY;
+        spriteCount++;
+    }
+
+    @Override
+    public void focus(int fromX, int fromY, int toX, int toY) {
+        focus[0] = fromX;
+        focus[1] = fromY;
+        focus[2] = toX;
+        focus[3] = toY;
+        hasFocus = true;
+    }
+
+    public void setInterpolation(float alpha) {
+        this.alpha = alpha < 0f ? 0f : Math.min(alpha, 1f);
+    }
+
+    public Rect getDirtyBounds() {
+        return dirtyBounds;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public void draw(Canvas canvas) {
+        for (int i = 0; i < visibleCount; i++) {
+            Chunk chunk = visible[i];
+            canvas.drawBitmap(chunk.bitmap, chunk.chunkX * chunkPixels - cameraX,
+                    chunk.chunkY * chunkPixels - cameraY, null);
+        }
+
+        drawSprites(canvas, overlaySprites.list, overlaySprites.count, overlayPalette);
+        drawSprites(canvas, sprites, spriteCount, palette);
+    }
+
+    private void drawSprites(Canvas canvas, int[] list, int count, TilePalette palette) {
+        float size = geometry.getBlockSize();
+        for (int i = 0; i < count; i++) {
+            int base = i * SPRITE_FIELDS;
+            float x = lerp(list[base + 1], list[base + 3]);
+            float y = lerp(list[base + 2], list[base + 4]);
+            palette.drawTile(canvas, list[base],
+                    geometry.centerX(x) - cameraX, geometry.centerY(y) - cameraY, size);
+        }
+    }
+
+    private float lerp(int from, int to) {
+        return from + (to - from) * alpha;
+    }
+
+    private void addCells(int[] list, int count) {
+        for (int i = 0; i < count; i++) {
+            int base = i * SPRITE_FIELDS;
+            addDirtyCell(list[base + 1], list[base + 2]);
+            addDirtyCell(list[base + 3], list[base + 4]);
+        }
+    }
+
+    private void redrawSpriteCells(int[] list, int count) {
+        for (int i = 0; i < count; i++) {
+            int base = i * SPRITE_FIELDS;
+            drawCell(list[base + 3], list[base + 4]);
+        }
+    }
+
+    public void release() {
+        for (Chunk chunk : pool) chunk.bitmap.recycle();
+        pool = NO_CHUNKS;
+        visible = NO_CHUNKS;
+        visibleCount = 0;
+    }
+
+    // Enough chunks to cover the view at any scroll offset, or the whole board if smaller.
+    private boolean ensurePool(int w, int h) {
+        geometry.update(w, h, game.getWidth(), game.getHeight());
+        int blockSize = geometry.getBlockSize();
+        if (pool.length > 0 && poolViewWidth == w && poolViewHeight == h
+                && poolBlockSize == blockSize
+                && poolBoardWidth == game.getWidth() && poolBoardHeight == game.getHeight()) {
+            return true;
+        }
+
+        release();
+        poolViewWidth = w;
+        poolViewHeight = h;
+        poolBlockSize = blockSize;
+        poolBoardWidth = game.getWidth();
+        poolBoardHeight = game.getHeight();
+        chunkPixels = CHUNK_CELLS * blockSize;
+
+        int columns = Math.min(chunksAcross(poolBoardWidth), w / chunkPixels + 2);
+        int rows = Math.min(chunksAcross(poolBoardHeight), h / chunkPixels + 2);
+        pool = new Chunk[columns * rows];
+        for (int i = 0; i < pool.length; i++) pool[i] = new Chunk(chunkPixels);
+        visible = new Chunk[pool.length];
+        return false;
+    }
+
+    private static int chunksAcross(int cells) {
+        return (cells + CHUNK_CELLS - 1) / CHUNK_CELLS;
+    }
+
+    // Centres the view on the interpolated focus, clamped so it never scrolls past the
+    // board's edges. Returns whether the camera moved since the last frame.
+    private boolean updateCamera(int w, int h) {
+        int x = 0;
+        int y = 0;
+        if (hasFocus) {
+            x = cameraOffset(geometry.centerX(lerp(focus[0], focus[2])), w,
+                    geometry.left(poolBoardWidth));
+            y = cameraOffset(geometry.centerY(lerp(focus[1], focus[3])), h,
+                    geometry.top(poolBoardHeight));
+        }
+        boolean moved = x != cameraX || y != cameraY;
+        cameraX = x;
+        cameraY = y;
+        return moved;
+    }
+
+    private static int cameraOffset(float center, int viewSize, int boardSize) {
+        if (boardSize <= viewSize) return 0;
+        int offset = Math.round(center - viewSize / 2f);
+        return Math.max(0, Math.min(offset, boardSize - viewSize));
+    }
+
+    // Assigns a pooled chunk to every chunk position in view, reusing chunks that already
+    // hold it and otherwise taking one that is out of view this frame.
+    private void claimVisibleChunks(int w, int h) {
+        frame++;
+        visibleCount = 0;
+        int firstX = cameraX / chunkPixels;
+        int firstY = cameraY / chunkPixels;
+        int lastX = Math.min((cameraX + w - 1) / chunkPixels, chunksAcross(poolBoardWidth) - 1);
+        int lastY = Math.min((cameraY + h - 1) / chunkPixels, chunksAcross(poolBoardHeight) - 1);
+        for (int cy = firstY; cy <= lastY; cy++) {
+            for (int cx = firstX; cx <= lastX; cx++) {
+                Chunk chunk = findChunk(cx, cy);
+                if (chunk == null) chunk = claimChunk(cx, cy);
+                if (!chunk.valid) drawChunk(chunk);
+                chunk.lastUsed = frame;
+                visible[visibleCount++] = chunk;
+            }
+        }
+    }
+
+    private Chunk findChunk(int cx, int cy) {
+        for (Chunk chunk : pool) {
+            if (chunk.chunkX == cx && chunk.chunkY == cy) return chunk;
+        }
+        return null;
+    }
+
+    private Chunk claimChunk(int cx, int cy) {
+        for (Chunk chunk : pool) {
+            if (chunk.lastUsed != frame) {
+                chunk.chunkX = cx;
+                chunk.chunkY = cy;
+                chunk.valid = false;
+                return chunk;
+            }
+        }
+        throw new IllegalStateException("Chunk pool smaller than the view");
+    }
+
+    private void drawChunk(Chunk chunk) {
+        chunk.bitmap.eraseColor(Color.BLACK);
+        int blockSize = geometry.getBlockSize();
+        int x0 = chunk.chunkX * CHUNK_CELLS;
+        int y0 = chunk.chunkY * CHUNK_CELLS;
+        int x1 = Math.min(x0 + CHUNK_CELLS, poolBoardWidth);
+        int y1 = Math.min(y0 + CHUNK_CELLS, poolBoardHeight);
+        int right = (x1 - x0) * blockSize;
+        int bottom = (y1 - y0) * blockSize;
+        for (int x = x0; x <= x1; x++) {
+            int left = (x - x0) * blockSize;
+            chunk.canvas.drawLine(left, 0, left, bottom, paintGrid);
+        }
+        for (int y = y0; y <= y1; y++) {
+            int top = (y - y0) * blockSize;
+            chunk.canvas.drawLine(0, top, right, top, paintGrid);
+        }
+
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                if (game.getTile(x, y) != GameEngine.TILE_EMPTY
+                        || overlayTile(x, y) != GameEngine.TILE_EMPTY) {
+                    drawTile(chunk, x, y);
+                }
+            }
+        }
+        chunk.valid = true;
+    }
+
+    // Patches one cell if its chunk is cached; chunks out of the pool are drawn in full
+    // when they are next claimed.
+    private void drawCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= poolBoardWidth || y >= poolBoardHeight) return;
+        Chunk chunk = findChunk(x / CHUNK_CELLS, y / CHUNK_CELLS);
+        if (chunk != null && chunk.valid) drawTile(chunk, x, y);
+    }
+
+    private void drawTile(Chunk chunk, int x, int y) {
+        int blockSize = geometry.getBlockSize();
+        int left = (x - chunk.chunkX * CHUNK_CELLS) * blockSize;
+        int top = (y - chunk.chunkY * CHUNK_CELLS) * blockSize;
+        chunk.canvas.drawRect(left + 1, top + 1, left + blockSize - 1, top + blockSize - 1,
+                paintBackground);
+
+        int tile = game.getTile(x, y);
+        if (tile != GameEngine.TILE_EMPTY) {
+            palette.drawTile(chunk.canvas, tile, left + blockSize / 2f, top + blockSize / 2f,
+                    blockSize);
+        }
+        tile = overlayTile(x, y);
+        if (tile != GameEngine.TILE_EMPTY) {
+            overlayPalette.drawTile(chunk.canvas, tile, left + blockSize / 2f,
+                    top + blockSize / 2f, blockSize);
+        }
+    }
+
+    private int overlayTile(int x, int y) {
+        return overlay != null ? overlay.getTile(x, y) : GameEngine.TILE_EMPTY;
+    }
+
+    private void addDirtyCell(int x, int y) {
+        if (x < 0 || y < 0) return;
+        geometry.cellBounds(x, y, cellBounds);
+        cellBounds.offset(-cameraX, -cameraY);
+        dirtyBounds.union(cellBounds);
+    }
+
+    // Sprites captured from the overlay, laid out like the game's own. Overlays never steer
+    // the camera, so focus is ignored.
+    private static final class SpriteList implements SpriteSink {
+        int[] list = new int[8 * SPRITE_FIELDS];
+        int count;
+
+        @Override
+        public void sprite(int tile, int fromX, int fromY, int toX, int toY) {
+            int base = count * SPRITE_FIELDS;
+            if (base == list.length) list = Arrays.copyOf(list, base * 2);
+            list[base] = tile;
+            list[base + 1] = fromX;
+            list[base + 2] = fromY;
+            list[base + 3] = toX;
+            list[base + 4] = toY;
+            count++;
+        }
+
+        @Override
+        public void focus(int fromX, int fromY, int toX, int toY) {
+        }
+    }
+
+    // Chunks hold only flat tiles over the opaque board background, so they skip alpha.
+    private static final class Chunk {
+        final Bitmap bitmap;
+        final Canvas canvas;
+        int chunkX = -1;
+        int chunkY = -1;
+        boolean valid;
+        int lastUsed;
+
+        Chunk(int pixels) {
+            bitmap = Bitmap.createBitmap(pixels, pixels, Bitmap.Config.RGB_565);
+            canvas = new Canvas(bitmap);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.retroarcade.view;
+
+import android.view.View;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.TileLayer;
+import com.example.retroarcade.metrics.PerfMetrics;
+
+public interface GameDisplay {
+    void setGame(GameEngine game, TilePalette palette);
+    // A second layer on the game's grid, such as a ghost run, read under the game's lock;
+    // null removes it.
+    void setOverlay(TileLayer overlay, TilePalette palette);
+    void refresh(float alpha);
+    // Records draw times and shows the performance overlay; null hides it.
+    void setMetrics(PerfMetrics metrics);
+    View getView();
+}
@@ -0,0 +1,171 @@
+package com.example.retroarcade.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.AttributeSet;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+import android.view.View;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.TileLayer;
+import com.example.retroarcade.metrics.PerfMetrics;
+
+public class GameSurfaceView extends SurfaceView implements SurfaceHolder.Callback, GameDisplay {
+
+    private GameEngine game;
+    private final BoardRenderer renderer = new BoardRenderer();
+    private final PerfOverlay overlay = new PerfOverlay();
+    private volatile PerfMetrics metrics;
+
+    private final Object frameLock = new Object();
+    private boolean frameRequested;
+    private float frameAlpha = 1f;
+    private boolean running;
+    private Thread renderThread;
+
+    private int surfaceWidth;
+    private int surfaceHeight;
+
+    public GameSurfaceView(Context context) {
+        super(context);
+        getHolder().addCallback(this);
+    }
+
+    public GameSurfaceView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        getHolder().addCallback(this);
+    }
+
+    @Override
+    public void setGame(GameEngine game, TilePalette palette) {
+        synchronized (frameLock) {
+            this.game = game;
+            renderer.setGame(game, palette);
+        }
+    }
+
+    @Override
+    public void setOverlay(TileLayer overlay, TilePalette palette) {
+        // The render thread reads the overlay in sync(), under the game's lock. Without a
+        // game it never syncs, and the next frame picks the overlay up through frameLock.
+        GameEngine current = game;
+        if (current == null) {
+            renderer.setOverlay(overlay, palette);
+            return;
+        }
+        synchronized (current) {
+            renderer.setOverlay(overlay, palette);
+        }
+    }
+
+    @Override
+    public void setMetrics(PerfMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public View getView() {
+        return this;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        if (game != null) {
+            synchronized (game) {
+                game.fitBoard(w, h);
+            }
+        }
+    }
+
+    @Override
+    public void refresh(float alpha) {
+        synchronized (frameLock) {
+            frameAlpha = alpha;
+            frameRequested = true;
+            frameLock.notify();
+        }
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        synchronized (frameLock) {
+            running = true;
+            frameRequested = true;
+        }
+        renderThread = new Thread(this::renderLoop, "GameRender");
+        renderThread.start();
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        synchronized (frameLock) {
+            surfaceWidth = width;
+            surfaceHeight = height;
+            frameRequested = true;
+            frameLock.notify();
+        }
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        synchronized (frameLock) {
+            running = false;
+            frameLock.notify();
+        }
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderThread = null;
+    }
+
+    private void renderLoop() {
+        while (true) {
+            GameEngine current;
+            int w, h;
+            float alpha;
+            synchronized (frameLock) {
+                while (running && !frameRequested) {
+                    try {
+                        frameLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running) break;
+                frameRequested = false;
+                current = game;
+                w = surfaceWidth;
+                h = surfaceHeight;
+                alpha = frameAlpha;
+            }
+            if (current == null) continue;
+
+            renderer.setInterpolation(alpha);
+            synchronized (current) {
+                renderer.sync(w, h);
+            }
+
+            Canvas canvas = getHolder().lockCanvas();
+            if (canvas == null) continue;
+            PerfMetrics metrics = this.metrics;
+            try {
+                long start = System.nanoTime();
+                canvas.drawColor(Color.BLACK);
+                renderer.draw(canvas);
+                if (metrics != null) {
+                    metrics.drawNanos.record(System.nanoTime() - start);
+                    overlay.draw(canvas, metrics);
+                }
+            } finally {
+                getHolder().unlockCanvasAndPost(canvas);
+            }
+        }
+        renderer.release();
+    }
+}
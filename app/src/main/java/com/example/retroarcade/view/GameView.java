@@ -0,0 +1,90 @@
+package com.example.retroarcade.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.util.AttributeSet;
+import android.view.View;
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.TileLayer;
+import com.example.retroarcade.metrics.PerfMetrics;
+
+public class GameView extends View implements GameDisplay {
+
+    private GameEngine game;
+    private final BoardRenderer renderer = new BoardRenderer();
+    private PerfMetrics metrics;
+    private PerfOverlay overlay;
+
+    public GameView(Context context) {
+        super(context);
+    }
+
+    public GameView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    @Override
+    public void setGame(GameEngine game, TilePalette palette) {
+        this.game = game;
+        renderer.setGame(game, palette);
+    }
+
+    @Override
+    public void setOverlay(TileLayer overlay, TilePalette palette) {
+        renderer.setOverlay(overlay, palette);
+    }
+
+    @Override
+    public void setMetrics(PerfMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null && overlay == null) overlay = new PerfOverlay();
+        invalidate();
+    }
+
+    @Override
+    public View getView() {
+        return this;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        if (game != null) {
+            synchronized (game) {
+                game.fitBoard(w, h);
+            }
+        }
+    }
+
+    @Override
+    public void refresh(float alpha) {
+        if (game == null) return;
+        renderer.setInterpolation(alpha);
+        synchronized (game) {
+            renderer.sync(getWidth(), getHeight());
+        }
+        if (!renderer.getDirtyBounds().isEmpty()) {
+            invalidate(renderer.getDirtyBounds());
+        }
+        if (metrics != null) invalidate(overlay.getBounds(getWidth()));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        PerfMetrics metrics = this.metrics;
+        long start = System.nanoTime();
+        renderer.draw(canvas);
+        if (metrics != null) {
+            metrics.drawNanos.record(System.nanoTime() - start);
+            overlay.draw(canvas, metrics);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        renderer.release();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.retroarcade.view;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.SystemClock;
+
+import com.example.retroarcade.metrics.PerfMetrics;
+
+// Text panel with the live metrics in the top-left corner of the board. The report is
+// rebuilt twice a second into a reused buffer and drawn from a char[], so showing it
+// doesn't allocate per frame.
+public class PerfOverlay {
+
+    private static final long REFRESH_MS = 500;
+    private static final int MAX_LINES = 8;
+    private static final float TEXT_SIZE = 24f;
+    private static final int PADDING = 8;
+
+    private final Paint paintText;
+    private final Paint paintBackground;
+    private final StringBuilder report = new StringBuilder(512);
+    private char[] chars = new char[512];
+    private int length;
+    private long builtAt;
+    private final Rect bounds = new Rect();
+
+    public PerfOverlay() {
+        paintText = new Paint();
+        paintText.setColor(Color.parseColor("#FFC107"));
+        paintText.setTextSize(TEXT_SIZE);
+        paintText.setTypeface(Typeface.MONOSPACE);
+        paintText.setAntiAlias(true);
+
+        paintBackground = new Paint();
+        paintBackground.setColor(Color.argb(160, 0, 0, 0));
+    }
+
+    // Area the overlay may cover, for partial invalidation.
+    public Rect getBounds(int viewWidth) {
+        bounds.set(0, 0, viewWidth, (int) (MAX_LINES * TEXT_SIZE * 1.2f) + 2 * PADDING);
+        return bounds;
+    }
+
+    public void draw(Canvas canvas, PerfMetrics metrics) {
+        long now = SystemClock.uptimeMillis();
+        if (builtAt == 0 || now - builtAt >= REFRESH_MS) {
+            builtAt = now;
+            report.setLength(0);
+            metrics.appendReport(report);
+            length = report.length();
+            if (chars.length < length) chars = new char[length * 2];
+            report.getChars(0, length, chars, 0);
+        }
+
+        float lineHeight = TEXT_SIZE * 1.2f;
+        int lines = 0;
+        for (int i = 0; i < length; i++) if (chars[i] == '\n') lines++;
+        canvas.drawRect(0, 0, canvas.getWidth(), lines * lineHeight + 2 * PADDING, paintBackground);
+
+        float y = PADDING + TEXT_SIZE;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != '\n') continue;
+            canvas.drawText(chars, start, i - start, PADDING, y, paintText);
+            y += lineHeight;
+            start = i + 1;
+        }
+    }
+}
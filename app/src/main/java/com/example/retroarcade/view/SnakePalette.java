@@ -0,0 +1,76 @@
+package com.example.retroarcade.view;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.SnakeGame;
+
+public class SnakePalette implements TilePalette {
+
+    private final Paint paintSnake;
+    private final Paint paintHead;
+    private final Paint paintApple;
+    private final Paint paintBomb;
+    private final Paint paintBombDot;
+    private final Paint paintEye;
+
+    public SnakePalette() {
+        this(255);
+    }
+
+    // Every colour drawn at the given opacity, 0 to 255; the ghost run uses a faint one.
+    public SnakePalette(int alpha) {
+        paintSnake = new Paint();
+        paintSnake.setColor(Color.parseColor("#4CAF50")); // Green
+        paintSnake.setAntiAlias(true);
+
+        paintHead = new Paint();
+        paintHead.setColor(Color.parseColor("#2E7D32")); // Dark Green
+        paintHead.setAntiAlias(true);
+
+        paintApple = new Paint();
+        paintApple.setColor(Color.parseColor("#F44336")); // Red
+        paintApple.setAntiAlias(true);
+
+        paintBomb = new Paint();
+        paintBomb.setColor(Color.parseColor("#757575")); // Grey
+        paintBomb.setAntiAlias(true);
+
+        paintBombDot = new Paint();
+        paintBombDot.setColor(Color.RED);
+        paintBombDot.setAntiAlias(true);
+
+        paintEye = new Paint();
+        paintEye.setColor(Color.WHITE);
+
+        for (Paint paint : new Paint[] {paintSnake, paintHead, paintApple, paintBomb,
+                paintBombDot, paintEye}) {
+            paint.setAlpha(alpha);
+        }
+    }
+
+    @Override
+    public void drawTile(Canvas canvas, int tile, float cx, float cy, float size) {
+        float radius = (size / 2f) - 2;
+        switch (tile) {
+            case Board.SNAKE:
+                canvas.drawCircle(cx, cy, radius, paintSnake);
+                break;
+            case Board.APPLE:
+                canvas.drawCircle(cx, cy, radius, paintApple);
+                break;
+            case Board.BOMB:
+                canvas.drawCircle(cx, cy, radius, paintBomb);
+                canvas.drawCircle(cx, cy, size / 4f, paintBombDot);
+                break;
+            case SnakeGame.TILE_HEAD:
+                canvas.drawCircle(cx, cy, radius, paintHead);
+                float eye = size / 8f;
+                canvas.drawCircle(cx - eye * 2, cy - eye, eye, paintEye);
+                canvas.drawCircle(cx + eye * 2, cy - eye, eye, paintEye);
+                break;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.retroarcade.view;
+
+import android.graphics.Canvas;
+
+// How a game's tiles look. Called for layer cells and for sprites, with the tile's centre
+// and the block size in pixels; implementations should only draw with cached paints.
+public interface TilePalette {
+    void drawTile(Canvas canvas, int tile, float cx, float cy, float size);
+}
@@ -0,0 +1,43 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.GameRandom;
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.sim.CycleBot;
+
+final class GameStates {
+
+    private GameStates() {
+    }
+
+    private static final CycleBot CYCLE = new CycleBot();
+
+    // Keeps the snake on a Hamiltonian cycle so it never dies; needs an even board height.
+    static void followCycle(SnakeGame game) {
+        game.steerTo(CYCLE.nextDirection(game));
+    }
+
+    static SnakeGame snakeOfLength(int width, int height, int length, long seed) {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(width, height);
+        game.startNewGame(SnakeGame.Difficulty.EASY, seed);
+        while (game.getSnakeLength() < length) {
+            followCycle(game);
+            game.update();
+            if (!game.isPlaying()) {
+                throw new IllegalStateException("Board too small for a snake of length " + length);
+            }
+        }
+        return game;
+    }
+
+    static Board boardFilledTo(int width, int height, double fill, long seed) {
+        Board board = new Board(width, height);
+        GameRandom random = new GameRandom(seed);
+        int occupied = (int) (width * height * fill);
+        for (int i = 0; i < occupied; i++) {
+            board.set(board.randomFreeCell(random), Board.SNAKE);
+        }
+        return board;
+    }
+}
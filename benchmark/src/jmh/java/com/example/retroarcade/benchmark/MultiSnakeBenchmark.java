@@ -0,0 +1,74 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.MultiSnakeGame;
+import com.example.retroarcade.model.SnakeGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One lock-step tick for every snake on a shared 200 x 200 board, including a one-cell
+// lookahead that turns each snake away from whatever is in front of it. Time per tick
+// should grow with the number of snakes, not with their total length.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiSnakeBenchmark {
+
+    private static final int BOARD_SIZE = 200;
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    @Param({"2", "16", "64"})
+    public int snakes;
+
+    private MultiSnakeGame game;
+    private long seed = 1L;
+
+    @Setup
+    public void setUp() {
+        game = new MultiSnakeGame(BOARD_SIZE, BOARD_SIZE);
+        game.startNewGame(snakes, seed++);
+    }
+
+    @Benchmark
+    public int tick() {
+        if (!game.isPlaying()) game.startNewGame(snakes, seed++);
+        for (int i = 0; i < snakes; i++) {
+            if (game.isAlive(i)) steer(i);
+        }
+        game.update();
+        return game.getAliveCount();
+    }
+
+    private void steer(int snake) {
+        int d = game.getDirection(snake).ordinal();
+        if (isFree(snake, d)) return;
+        int left = (d + 3) & 3;
+        int right = (d + 1) & 3;
+        game.setDirection(snake, DIRECTIONS[isFree(snake, left) ? left : right]);
+    }
+
+    private boolean isFree(int snake, int d) {
+        int x = game.getHeadX(snake) + DX[d];
+        int y = game.getHeadY(snake) + DY[d];
+        if (x < 0 || y < 0 || x >= BOARD_SIZE || y >= BOARD_SIZE) return false;
+        byte cell = game.getCell(x, y);
+        return cell == Board.EMPTY || cell == Board.APPLE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.GameRandom;
+import com.example.retroarcade.model.ObstacleMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Bomb bookkeeping on a huge board: hitting a bomb removes it and eating an apple adds one.
+// Neither should grow with the number of bombs already on the board.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObstacleBenchmark {
+
+    private static final int BOARD_SIZE = 1000;
+
+    @Param({"100", "10000", "50000"})
+    public int bombs;
+
+    private ObstacleMap map;
+    private GameRandom random;
+    private int[] cells;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        map = new ObstacleMap(BOARD_SIZE, BOARD_SIZE);
+        random = new GameRandom(5L);
+        while (map.size() < bombs) {
+            map.add(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE));
+        }
+        cells = map.toCells();
+    }
+
+    @Benchmark
+    public boolean removeAndAdd() {
+        int cell = cells[next];
+        next = next + 1 == cells.length ? 0 : next + 1;
+        int x = cell % BOARD_SIZE;
+        int y = cell / BOARD_SIZE;
+        map.remove(x, y);
+        return map.add(x, y);
+    }
+
+    @Benchmark
+    public boolean collisionLookup() {
+        return map.contains(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.sim.PathBot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Autopilot cost on a 200 x 200 board. replan is the worst case, a full search from
+// scratch; tick is what a game actually pays per tick, with plans reused between apples.
+// Both should be a small fraction of MIN_SPEED_DELAY (60 ms).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBotBenchmark {
+
+    private static final int BOARD_SIZE = 200;
+
+    @Param({"3", "1000"})
+    public int snakeLength;
+
+    private SnakeGame game;
+    private PathBot bot;
+    private long seed = 1L;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bot = new PathBot();
+        game = new SnakeGame();
+        game.setBoardSize(BOARD_SIZE, BOARD_SIZE);
+        do {
+            game.startNewGame(SnakeGame.Difficulty.EASY, seed++);
+            bot.invalidate();
+            while (game.isPlaying() && game.getSnakeLength() < snakeLength) step();
+        } while (!game.isPlaying());
+    }
+
+    private boolean step() {
+        SnakeGame.Direction dir = bot.nextDirection(game);
+        if (dir != null) game.steerTo(dir);
+        game.update();
+        return game.isPlaying();
+    }
+
+    @Benchmark
+    public SnakeGame.Direction replan() {
+        bot.invalidate();
+        return bot.nextDirection(game);
+    }
+
+    @Benchmark
+    public boolean tick() {
+        if (!step()) setUp();
+        return game.isPlaying();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.server.LoopbackClient;
+import com.example.retroarcade.server.Room;
+import com.example.retroarcade.sim.PathBot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Server capacity: one op is one room tick on one thread, with an autopilot steering, the
+// delta frame encoded and decoded by a loopback client. A shard runs its rooms back to back
+// on a single core, so at a 60 ms tick one core sustains (score in ops/ms) x 60 rooms.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerLoadBenchmark {
+
+    @Param({"20", "200"})
+    public int boardSize;
+
+    private Room room;
+    private long seed = 1L;
+
+    @Setup
+    public void setUp() {
+        room = new Room(SnakeGame.Difficulty.HARD, seed++, boardSize, boardSize, new PathBot());
+        new LoopbackClient().connect(room);
+    }
+
+    @Benchmark
+    public boolean roomTick() {
+        if (room.isFinished()) setUp();
+        room.tick();
+        return room.isFinished();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.SnakeGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Ticks a snake of a fixed length following a Hamiltonian cycle. Following the cycle it
+// keeps eating, so once it has grown LENGTH_SLACK past the target it is put back to the
+// starting snapshot. That happens only every few hundred thousand ticks, so the restore
+// barely registers, and it stops the game from filling the board mid-iteration and then
+// timing no-op updates.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeTickBenchmark {
+
+    private static final int LENGTH_SLACK = 16;
+
+    @Param({"100"})
+    public int boardSize;
+
+    @Param({"3", "100", "1000", "5000"})
+    public int snakeLength;
+
+    private SnakeGame game;
+    private byte[] start;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = GameStates.snakeOfLength(boardSize, boardSize, snakeLength, 42L);
+        start = game.saveSnapshot();
+    }
+
+    @Benchmark
+    public int tick() {
+        if (game.getSnakeLength() > snakeLength + LENGTH_SLACK) game.restoreSnapshot(start);
+        GameStates.followCycle(game);
+        game.update();
+        if (!game.isPlaying()) throw new IllegalStateException("Game ended while measuring");
+        return game.getSnakeLength();
+    }
+
+    // Two turns offered and then dropped as a tick would drain them, so every offer goes
+    // through the accepting path rather than bouncing off a full queue.
+    @Benchmark
+    public void setDirection() {
+        game.setDirection(SnakeGame.Direction.UP);
+        game.setDirection(SnakeGame.Direction.RIGHT);
+        game.clearPendingInput();
+    }
+}
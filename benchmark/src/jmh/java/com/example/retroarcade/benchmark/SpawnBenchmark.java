@@ -0,0 +1,57 @@
+package com.example.retroarcade.benchmark;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.GameRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Spawning an apple is "pick a free cell and occupy it"; the cell is released again so the
+// fill ratio stays fixed across invocations.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+
+    @Param({"200"})
+    public int boardSize;
+
+    @Param({"0.1", "0.5", "0.95"})
+    public double fill;
+
+    private Board board;
+    private GameRandom random;
+
+    @Setup
+    public void setUp() {
+        board = GameStates.boardFilledTo(boardSize, boardSize, fill, 7L);
+        random = new GameRandom(11L);
+    }
+
+    @Benchmark
+    public int spawn() {
+        int cell = board.randomFreeCell(random);
+        board.set(cell, Board.APPLE);
+        board.set(cell, Board.EMPTY);
+        return cell;
+    }
+
+    @Benchmark
+    public byte collisionLookup() {
+        return board.get(random.nextInt(boardSize), random.nextInt(boardSize));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.retroarcade.engine;
+
+// What the shared loop, renderer and HUD need from a game. Games live on a grid of tiles,
+// drawn as a TileLayer. Hosts call everything except onInput() with the engine's
+// monitor held; onInput() may arrive from the UI thread at any time.
+public interface GameEngine extends TileLayer {
+
+    // Picks the board size for a view of the given pixel size. Fixed-size games ignore it.
+    void fitBoard(int viewWidth, int viewHeight);
+    int getWidth();
+    int getHeight();
+
+    void update();
+    boolean isPlaying();
+    long getTickDelayNanos();
+    void onInput(GameInput input);
+
+    int getScore();
+    int getLives();
+    boolean isWon();
+}
@@ -0,0 +1,5 @@
+package com.example.retroarcade.engine;
+
+public enum GameInput {
+    UP, RIGHT, DOWN, LEFT, ACTION
+}
@@ -0,0 +1,11 @@
+package com.example.retroarcade.engine;
+
+// Receives the sprites a game wants drawn over its tile layer this frame. A sprite moves
+// from one cell to another over the course of a tick; the renderer interpolates it.
+public interface SpriteSink {
+    void sprite(int tile, int fromX, int fromY, int toX, int toY);
+
+    // Point a camera should keep centred when the board is too big to show whole, moving
+    // the same way a sprite does. Games that never outgrow the view need not report one.
+    void focus(int fromX, int fromY, int toX, int toY);
+}
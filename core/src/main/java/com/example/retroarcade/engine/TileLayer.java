@@ -0,0 +1,18 @@
+package com.example.retroarcade.engine;
+
+// A grid of static tiles plus the sprites drawn over them, as the renderer caches it: it
+// patches its copy of the tiles from the dirty-cell diff and redraws sprites every frame.
+// Every game is one; a ghost run laid over a game on the same grid is another.
+public interface TileLayer {
+    int TILE_EMPTY = 0;
+
+    int getDirtyCount();
+    int getDirtyX(int i);
+    int getDirtyY(int i);
+    boolean needsFullRedraw();
+    void clearDirtyCells();
+
+    // Tile for the static layer; cells covered by a sprite should report TILE_EMPTY.
+    int getTile(int x, int y);
+    void emitSprites(SpriteSink sink);
+}
@@ -0,0 +1,75 @@
+package com.example.retroarcade.metrics;
+
+import java.util.Arrays;
+
+// Log-linear histogram in the style of HdrHistogram: values below 64 get a bucket each,
+// and every power of two above that is split into 32 buckets, so any recorded value is
+// reported to within about 3%. Memory is fixed at construction and record() never
+// allocates. Values at or above 2^40 are clamped into the top bucket.
+// Single writer; readers on other threads see approximate but usable figures.
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_BUCKETS = SUB_BUCKETS / 2;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_TRACKED = (1L << MAX_VALUE_BITS) - 1;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_VALUE_BITS - SUB_BUCKET_BITS) * HALF_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(Math.min(value, MAX_TRACKED))]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() { return totalCount; }
+    public long getMax() { return max; }
+    public long getMin() { return totalCount == 0 ? 0 : min; }
+    public double getMean() { return totalCount == 0 ? 0 : (double) sum / totalCount; }
+
+    // Smallest bucket upper bound that covers the given share of recorded values,
+    // capped at the exact maximum.
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = (long) Math.ceil(percentile / 100.0 * totalCount);
+        if (target < 1) target = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(highestInBucket(i), max);
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_BUCKETS + (top - HALF_BUCKETS);
+    }
+
+    static long highestInBucket(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int k = index - SUB_BUCKETS;
+        int shift = k / HALF_BUCKETS + 1;
+        long top = HALF_BUCKETS + k % HALF_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
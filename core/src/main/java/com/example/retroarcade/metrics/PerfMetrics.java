@@ -0,0 +1,73 @@
+package com.example.retroarcade.metrics;
+
+// The numbers behind the performance HUD: how long update() and a frame's draw take,
+// how far each tick lands from its target delay, how many objects a tick allocates, and
+// how many ticks ran more than half a tick late or were dropped to catch up.
+// Times are in nanoseconds. Each histogram has a single writer thread.
+public class PerfMetrics {
+
+    public final Histogram updateNanos = new Histogram();
+    public final Histogram drawNanos = new Histogram();
+    public final Histogram tickJitterNanos = new Histogram();
+    public final Histogram allocationsPerTick = new Histogram();
+
+    private long droppedTicks;
+    private long driftedTicks;
+
+    public void addDroppedTicks(long ticks) {
+        droppedTicks += ticks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public void addDriftedTicks(long ticks) {
+        driftedTicks += ticks;
+    }
+
+    public long getDriftedTicks() {
+        return driftedTicks;
+    }
+
+    public void reset() {
+        updateNanos.reset();
+        drawNanos.reset();
+        tickJitterNanos.reset();
+        allocationsPerTick.reset();
+        droppedTicks = 0;
+        driftedTicks = 0;
+    }
+
+    // One line per histogram; appends into the caller's builder so the overlay can
+    // reuse a single buffer every frame.
+    public void appendReport(StringBuilder out) {
+        appendTimes(out, "update", updateNanos);
+        appendTimes(out, "draw  ", drawNanos);
+        appendTimes(out, "jitter", tickJitterNanos);
+        out.append("allocs n=").append(allocationsPerTick.getCount())
+                .append(" p50=").append(allocationsPerTick.getValueAtPercentile(50))
+                .append(" p99=").append(allocationsPerTick.getValueAtPercentile(99))
+                .append(" max=").append(allocationsPerTick.getMax())
+                .append('\n');
+        out.append("dropped ticks=").append(droppedTicks)
+                .append(" drifted=").append(driftedTicks).append('\n');
+    }
+
+    private static void appendTimes(StringBuilder out, String label, Histogram histogram) {
+        out.append(label).append(" n=").append(histogram.getCount());
+        out.append(" p50="); appendMillis(out, histogram.getValueAtPercentile(50));
+        out.append(" p99="); appendMillis(out, histogram.getValueAtPercentile(99));
+        out.append(" max="); appendMillis(out, histogram.getMax());
+        out.append('\n');
+    }
+
+    // Nanoseconds as milliseconds with two decimals, without going through a float.
+    private static void appendMillis(StringBuilder out, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) out.append('0');
+        out.append(fraction).append("ms");
+    }
+}
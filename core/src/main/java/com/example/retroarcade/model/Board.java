@@ -0,0 +1,226 @@
+package com.example.retroarcade.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Board {
+    public static final byte EMPTY = 0;
+    public static final byte SNAKE = 1;
+    public static final byte BOMB = 2;
+    public static final byte APPLE = 3;
+
+    // Boards with more cells than this keep only their occupied cells, in a hash, instead
+    // of flat per-cell arrays, so memory follows what is on the board rather than its area.
+    public static final int DENSE_MAX_CELLS = 1 << 16;
+
+    // Free cells are drawn by rejection on sparse boards; after this many occupied hits in
+    // a row the pick falls back to a scan.
+    private static final int SPARSE_PICK_ATTEMPTS = 64;
+
+    private int width;
+    private int height;
+    private byte[] cells;
+    private CellMap sparse;
+
+    // Dense list of empty cells plus each cell's slot in it (-1 when occupied),
+    // so a random free cell can be picked and removed in constant time.
+    private int[] freeCells;
+    private int[] freeSlot;
+    private int freeCount;
+
+    private int[] dirtyCells = new int[32];
+    private int dirtyCount;
+    private boolean fullRedraw = true;
+
+    public Board(int width, int height) {
+        resize(width, height);
+    }
+
+    public void resize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int size = width * height;
+        if (size > DENSE_MAX_CELLS) {
+            if (sparse == null) sparse = new CellMap(256);
+            cells = null;
+            freeCells = null;
+            freeSlot = null;
+        } else {
+            sparse = null;
+            if (cells == null || cells.length < size) {
+                cells = new byte[size];
+                freeCells = new int[size];
+                freeSlot = new int[size];
+            }
+        }
+        clear();
+    }
+
+    public void clear() {
+        int size = width * height;
+        fullRedraw = true;
+        dirtyCount = 0;
+        if (sparse != null) {
+            sparse.clear();
+            freeCount = size;
+            return;
+        }
+        Arrays.fill(cells, 0, size, EMPTY);
+        for (int i = 0; i < size; i++) {
+            freeCells[i] = i;
+            freeSlot[i] = i;
+        }
+        freeCount = size;
+    }
+
+    public boolean isSparse() {
+        return sparse != null;
+    }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public byte get(int x, int y) {
+        return get(y * width + x);
+    }
+
+    public void set(int x, int y, byte value) {
+        set(y * width + x, value);
+    }
+
+    public boolean isEmpty(int x, int y) {
+        return get(y * width + x) == EMPTY;
+    }
+
+    public byte get(int cell) {
+        return sparse != null ? sparse.get(cell) : cells[cell];
+    }
+
+    public void set(int cell, byte value) {
+        if (sparse != null) {
+            setSparse(cell, value);
+            return;
+        }
+        byte old = cells[cell];
+        if (old == value) return;
+        cells[cell] = value;
+        markDirty(cell);
+        if (old == EMPTY && value != EMPTY) {
+            int slot = freeSlot[cell];
+            int last = freeCells[--freeCount];
+            freeCells[slot] = last;
+            freeSlot[last] = slot;
+            freeSlot[cell] = -1;
+        } else if (old != EMPTY && value == EMPTY) {
+            freeCells[freeCount] = cell;
+            freeSlot[cell] = freeCount++;
+        }
+    }
+
+    private void setSparse(int cell, byte value) {
+        byte old = sparse.get(cell);
+        if (old == value) return;
+        sparse.put(cell, value);
+        markDirty(cell);
+        if (old == EMPTY) freeCount--;
+        else if (value == EMPTY) freeCount++;
+    }
+
+    private void markDirty(int cell) {
+        if (fullRedraw) return;
+        if (dirtyCount == dirtyCells.length) {
+            fullRedraw = true;
+            dirtyCount = 0;
+            return;
+        }
+        dirtyCells[dirtyCount++] = cell;
+    }
+
+    // Games that change more cells per tick than the default buffer holds raise it, so a
+    // normal tick never degrades into a full redraw.
+    public void setDirtyCapacity(int capacity) {
+        if (capacity > dirtyCells.length) {
+            dirtyCells = new int[capacity];
+            fullRedraw = true;
+            dirtyCount = 0;
+        }
+    }
+
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    public int getDirtyCell(int i) {
+        return dirtyCells[i];
+    }
+
+    public boolean isFullRedraw() {
+        return fullRedraw;
+    }
+
+    public void clearDirty() {
+        dirtyCount = 0;
+        fullRedraw = false;
+    }
+
+    public int randomFreeCell(GameRandom random) {
+        if (freeCount == 0) return -1;
+        if (sparse == null) return freeCells[random.nextInt(freeCount)];
+
+        int size = width * height;
+        for (int i = 0; i < SPARSE_PICK_ATTEMPTS; i++) {
+            int cell = random.nextInt(size);
+            if (sparse.get(cell) == EMPTY) return cell;
+        }
+        int start = random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int cell = start + i < size ? start + i : start + i - size;
+            if (sparse.get(cell) == EMPTY) return cell;
+        }
+        return -1;
+    }
+
+    // The free list's order decides which cell randomFreeCell() returns, so snapshots keep
+    // it verbatim. readFreeCells() must run after the occupied cells have been set. Sparse
+    // boards have no free list and pick from the random state alone, so write nothing.
+    int freeCellsBytes() {
+        return sparse != null ? 0 : 4 * (freeCount + 1);
+    }
+
+    void writeFreeCells(ByteBuffer out) {
+        if (sparse != null) return;
+        out.putInt(freeCount);
+        for (int i = 0; i < freeCount; i++) out.putInt(freeCells[i]);
+    }
+
+    void readFreeCells(ByteBuffer in) {
+        if (sparse != null) return;
+        int count = in.getInt();
+        if (count != freeCount) throw new IllegalArgumentException("Free cells don't match board");
+        for (int i = 0; i < count; i++) {
+            int cell = in.getInt();
+            freeCells[i] = cell;
+            freeSlot[cell] = i;
+        }
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public int cellOf(int x, int y) {
+        return y * width + x;
+    }
+
+    public int cellX(int cell) {
+        return cell % width;
+    }
+
+    public int cellY(int cell) {
+        return cell / width;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
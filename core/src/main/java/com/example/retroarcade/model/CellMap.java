@@ -0,0 +1,109 @@
+package com.example.retroarcade.model;
+
+import java.util.Arrays;
+
+// Open-addressing hash from packed cell to a non-empty byte, for boards too large for a
+// flat array. Linear probing with backward-shift deletion, so there are no tombstones and
+// lookups stay short however many cells come and go. Grows when three quarters full.
+final class CellMap {
+
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private byte[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    CellMap(int expected) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new byte[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slotOf(int cell) {
+        return (cell * 0x9E3779B9) >>> shift;
+    }
+
+    byte get(int cell) {
+        int i = slotOf(cell);
+        while (true) {
+            int key = keys[i];
+            if (key == cell) return values[i];
+            if (key == FREE) return Board.EMPTY;
+            i = (i + 1) & mask;
+        }
+    }
+
+    void put(int cell, byte value) {
+        if (value == Board.EMPTY) {
+            remove(cell);
+            return;
+        }
+        int i = slotOf(cell);
+        while (true) {
+            int key = keys[i];
+            if (key == cell) {
+                values[i] = value;
+                return;
+            }
+            if (key == FREE) break;
+            i = (i + 1) & mask;
+        }
+        keys[i] = cell;
+        values[i] = value;
+        if (++size * 4 > keys.length * 3) grow();
+    }
+
+    void remove(int cell) {
+        int i = slotOf(cell);
+        while (true) {
+            int key = keys[i];
+            if (key == FREE) return;
+            if (key == cell) break;
+            i = (i + 1) & mask;
+        }
+        size--;
+        // Pull later entries of the probe run back so no lookup ever stops early.
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int key = keys[j];
+            if (key == FREE) break;
+            int home = slotOf(key);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = key;
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        byte[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.retroarcade.model;
+
+// One difficulty's rules, compiled from a RuleTable row into the form the tick reads: the
+// delay for every score up to where it bottoms out, and steering as a lookup table.
+public final class DifficultyRules {
+
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+
+    private final long[] delayMillisByScore;
+    private final int lives;
+    private final int startBombs;
+    private final int bombsPerApple;
+    private final SnakeGame.Direction[] steering = new SnakeGame.Direction[DIRECTIONS.length];
+    private final SnakeGame.Direction[] inputs = new SnakeGame.Direction[DIRECTIONS.length];
+
+    DifficultyRules(long startDelay, long delayPerPoint, long minDelay, int lives,
+                    int startBombs, int bombsPerApple, boolean reversed) {
+        if (minDelay <= 0 || startDelay < minDelay || delayPerPoint < 0 || lives <= 0
+                || startBombs < 0 || bombsPerApple < 0) {
+            throw new IllegalArgumentException("Invalid difficulty rules");
+        }
+        int steps = delayPerPoint == 0 ? 0
+                : (int) ((startDelay - minDelay + delayPerPoint - 1) / delayPerPoint);
+        delayMillisByScore = new long[steps + 1];
+        for (int score = 0; score <= steps; score++) {
+            delayMillisByScore[score] = Math.max(minDelay, startDelay - score * delayPerPoint);
+        }
+        this.lives = lives;
+        this.startBombs = startBombs;
+        this.bombsPerApple = bombsPerApple;
+        for (SnakeGame.Direction dir : DIRECTIONS) {
+            steering[dir.ordinal()] = reversed ? dir.opposite() : dir;
+        }
+        for (SnakeGame.Direction dir : DIRECTIONS) {
+            inputs[steering[dir.ordinal()].ordinal()] = dir;
+        }
+    }
+
+    public long delayMillis(int score) {
+        return delayMillisByScore[Math.min(score, delayMillisByScore.length - 1)];
+    }
+
+    // The direction the snake actually turns when the player steers dir.
+    public SnakeGame.Direction steer(SnakeGame.Direction dir) {
+        return steering[dir.ordinal()];
+    }
+
+    // The direction the player has to steer for the snake to turn to heading.
+    public SnakeGame.Direction inputFor(SnakeGame.Direction heading) {
+        return inputs[heading.ordinal()];
+    }
+
+    public boolean hasReversedControls() {
+        return steering[0] != DIRECTIONS[0];
+    }
+
+    public int getLives() { return lives; }
+    public int getStartBombs() { return startBombs; }
+    public int getBombsPerApple() { return bombsPerApple; }
+}
@@ -0,0 +1,34 @@
+package com.example.retroarcade.model;
+
+// SplitMix64: one long of state, so a session can be replayed or snapshotted from it.
+public class GameRandom {
+    private long state;
+
+    public GameRandom(long seed) {
+        state = seed;
+    }
+
+    public void setSeed(long seed) {
+        state = seed;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public int nextInt(int bound) {
+        // Lemire's multiply-shift reduction; the bias is negligible for board-sized bounds.
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.retroarcade.model;
+
+// Bounded single-producer/single-consumer ring of pending turns. The input thread offers,
+// the tick polls; each side only writes its own index, so no locks are needed and the
+// volatile writes publish the slot contents. When full, new input is dropped rather than
+// overwriting turns the player has already made. Repeating the last queued turn is dropped
+// too: once that turn is drained the repeat can only ever be a no-op.
+final class InputQueue {
+
+    static final int CAPACITY = 4;
+    private static final int MASK = CAPACITY - 1;
+
+    private final SnakeGame.Direction[] slots = new SnakeGame.Direction[CAPACITY];
+    private volatile int head;
+    private volatile int tail;
+    // Bumped by the consumer on clear(); the producer resets its own state when it sees a
+    // new count, so neither side writes the other's fields.
+    private volatile int clears;
+    private int clearsSeen;
+    private SnakeGame.Direction lastOffered;
+
+    boolean offer(SnakeGame.Direction direction) {
+        int c = clears;
+        if (c != clearsSeen) {
+            clearsSeen = c;
+            lastOffered = null;
+        }
+        int t = tail;
+        if (direction == lastOffered || t - head == CAPACITY) return false;
+        slots[t & MASK] = direction;
+        lastOffered = direction;
+        tail = t + 1;
+        return true;
+    }
+
+    SnakeGame.Direction poll() {
+        int h = head;
+        if (h == tail) return null;
+        SnakeGame.Direction direction = slots[h & MASK];
+        head = h + 1;
+        return direction;
+    }
+
+    // Consumer side only. Drops the pending turns, and the producer forgets its last turn
+    // the next time it offers.
+    void clear() {
+        head = tail;
+        clears = clears + 1;
+    }
+}
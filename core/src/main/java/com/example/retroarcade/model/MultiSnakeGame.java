@@ -0,0 +1,272 @@
+package com.example.retroarcade.model;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.GameInput;
+import com.example.retroarcade.engine.SpriteSink;
+
+// Lock-step game for 2 to 64 snakes on one board, each steered through its own input queue
+// by a person or a bot. Every snake moves once per tick and all of them are resolved against
+// one shared board plus a small map from head cell to snake, so a tick costs O(snakes):
+// nothing ever walks a body except to clear away a snake that has just died.
+//
+// Moves are simultaneous. As in SnakeGame, tails leave only after every head has moved, so
+// a head entering the cell a tail is just leaving still collides with it. Two heads
+// entering the same cell kill both snakes; a head entering any other body, or a body that
+// dies this same tick, kills only that snake. Apples are respawned after everyone has
+// moved and the game ends when at most one snake is left. Snake 0 is the one the
+// GameEngine methods report on and steer.
+public class MultiSnakeGame implements GameEngine {
+
+    public static final int MIN_SNAKES = 2;
+    public static final int MAX_SNAKES = 64;
+    public static final int TILE_HEAD = SnakeGame.TILE_HEAD;
+
+    private static final long TICK_DELAY_NANOS = 100_000_000L;
+    private static final int START_LENGTH = 3;
+
+    private final int width;
+    private final int height;
+    private final Board board;
+    private final GameRandom random = new GameRandom(0);
+    // Head cell -> snake index + 1, for telling head-on collisions from body hits.
+    private final CellMap heads = new CellMap(MAX_SNAKES);
+
+    private int snakeCount;
+    private int aliveCount;
+    private boolean isPlaying;
+    private int tick;
+
+    private final SnakeBody[] bodies = new SnakeBody[MAX_SNAKES];
+    private final InputQueue[] inputs = new InputQueue[MAX_SNAKES];
+    private final SnakeGame.Direction[] directions = new SnakeGame.Direction[MAX_SNAKES];
+    private final boolean[] alive = new boolean[MAX_SNAKES];
+    private final int[] scores = new int[MAX_SNAKES];
+
+    // Per-tick scratch, indexed by snake.
+    private final int[] targets = new int[MAX_SNAKES];
+    private final int[] previousHeads = new int[MAX_SNAKES];
+    private final int[] vacated = new int[MAX_SNAKES];
+    private final boolean[] moved = new boolean[MAX_SNAKES];
+    private final boolean[] ate = new boolean[MAX_SNAKES];
+    private final boolean[] dying = new boolean[MAX_SNAKES];
+
+    public MultiSnakeGame(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.board = new Board(width, height);
+        board.setDirtyCapacity(4 * MAX_SNAKES + 32);
+        for (int i = 0; i < MAX_SNAKES; i++) {
+            bodies[i] = new SnakeBody();
+            inputs[i] = new InputQueue();
+        }
+    }
+
+    // Snakes start in a grid of equal boxes, each three cells long and heading right.
+    public void startNewGame(int snakes, long seed) {
+        if (snakes < MIN_SNAKES || snakes > MAX_SNAKES) {
+            throw new IllegalArgumentException("Snake count must be " + MIN_SNAKES + " to "
+                    + MAX_SNAKES + ", was " + snakes);
+        }
+        int columns = (int) Math.ceil(Math.sqrt(snakes));
+        int rows = (snakes + columns - 1) / columns;
+        int boxWidth = width / columns;
+        int boxHeight = height / rows;
+        if (boxWidth < START_LENGTH + 2 || boxHeight < 1) {
+            throw new IllegalArgumentException("Board too small for " + snakes + " snakes");
+        }
+
+        board.clear();
+        heads.clear();
+        random.setSeed(seed);
+        snakeCount = snakes;
+        aliveCount = snakes;
+        tick = 0;
+        for (int i = 0; i < snakes; i++) {
+            int y = (i / columns) * boxHeight + boxHeight / 2;
+            int x = (i % columns) * boxWidth + boxWidth / 2 + 1;
+            SnakeBody body = bodies[i];
+            body.reset(SnakeBody.initialCapacity(width * height));
+            for (int k = 0; k < START_LENGTH; k++) {
+                body.addLast(board.cellOf(x - k, y));
+                board.set(x - k, y, Board.SNAKE);
+            }
+            heads.put(body.getHead(), (byte) (i + 1));
+            directions[i] = SnakeGame.Direction.RIGHT;
+            inputs[i].clear();
+            alive[i] = true;
+            scores[i] = 0;
+            previousHeads[i] = body.getHead();
+            vacated[i] = -1;
+        }
+        isPlaying = true;
+        for (int i = Math.max(1, snakes / 2); i > 0; i--) spawnApple();
+    }
+
+    public void setDirection(int snake, SnakeGame.Direction direction) {
+        inputs[snake].offer(direction);
+    }
+
+    @Override
+    public void update() {
+        if (!isPlaying) return;
+        tick++;
+
+        // Choose every snake's next cell.
+        for (int i = 0; i < snakeCount; i++) {
+            if (!alive[i]) continue;
+            applyNextInput(i);
+            int head = bodies[i].getHead();
+            previousHeads[i] = head;
+            vacated[i] = -1;
+            moved[i] = false;
+            ate[i] = false;
+            int x = board.cellX(head);
+            int y = board.cellY(head);
+            switch (directions[i]) {
+                case UP:    y--; break;
+                case RIGHT: x++; break;
+                case DOWN:  y++; break;
+                case LEFT:  x--; break;
+            }
+            targets[i] = board.isInside(x, y) ? board.cellOf(x, y) : -1;
+        }
+
+        // Move heads in while every tail is still in place. A cell already claimed this tick
+        // holds a head that moved there.
+        int applesEaten = 0;
+        for (int i = 0; i < snakeCount; i++) {
+            if (!alive[i]) continue;
+            int target = targets[i];
+            if (target < 0) {
+                dying[i] = true;
+                continue;
+            }
+            byte value = board.get(target);
+            if (value == Board.SNAKE || value == Board.BOMB) {
+                int other = heads.get(target) - 1;
+                if (other >= 0 && moved[other]) dying[other] = true;
+                dying[i] = true;
+                continue;
+            }
+            heads.remove(previousHeads[i]);
+            bodies[i].addFirst(target);
+            board.set(target, Board.SNAKE);
+            heads.put(target, (byte) (i + 1));
+            moved[i] = true;
+            if (value == Board.APPLE) {
+                ate[i] = true;
+                scores[i]++;
+                applesEaten++;
+            }
+        }
+
+        for (int i = 0; i < snakeCount; i++) {
+            if (dying[i]) {
+                kill(i);
+            } else if (moved[i] && !ate[i]) {
+                // Tails of the snakes that moved without eating leave last.
+                vacated[i] = bodies[i].removeLast();
+                board.set(vacated[i], Board.EMPTY);
+            }
+        }
+        for (int i = 0; i < applesEaten; i++) spawnApple();
+        if (aliveCount <= 1) isPlaying = false;
+    }
+
+    private void applyNextInput(int snake) {
+        SnakeGame.Direction current = directions[snake];
+        SnakeGame.Direction next;
+        while ((next = inputs[snake].poll()) != null) {
+            if (next != current && next != current.opposite()) {
+                directions[snake] = next;
+                return;
+            }
+        }
+    }
+
+    private void kill(int snake) {
+        dying[snake] = false;
+        alive[snake] = false;
+        aliveCount--;
+        SnakeBody body = bodies[snake];
+        heads.remove(body.getHead());
+        while (!body.isEmpty()) board.set(body.removeLast(), Board.EMPTY);
+    }
+
+    private void spawnApple() {
+        int cell = board.randomFreeCell(random);
+        if (cell >= 0) board.set(cell, Board.APPLE);
+    }
+
+    @Override
+    public void fitBoard(int viewWidth, int viewHeight) {
+    }
+
+    @Override
+    public long getTickDelayNanos() {
+        return TICK_DELAY_NANOS;
+    }
+
+    @Override
+    public void onInput(GameInput input) {
+        switch (input) {
+            case UP:    setDirection(0, SnakeGame.Direction.UP); break;
+            case RIGHT: setDirection(0, SnakeGame.Direction.RIGHT); break;
+            case DOWN:  setDirection(0, SnakeGame.Direction.DOWN); break;
+            case LEFT:  setDirection(0, SnakeGame.Direction.LEFT); break;
+            default:    break;
+        }
+    }
+
+    @Override
+    public int getTile(int x, int y) {
+        int cell = board.cellOf(x, y);
+        if (heads.get(cell) != 0) return TILE_EMPTY;
+        return board.get(cell);
+    }
+
+    @Override
+    public void emitSprites(SpriteSink sink) {
+        for (int i = 0; i < snakeCount; i++) {
+            if (!alive[i]) continue;
+            SnakeBody body = bodies[i];
+            int tail = body.getTail();
+            if (vacated[i] >= 0) {
+                sink.sprite(Board.SNAKE, board.cellX(vacated[i]), board.cellY(vacated[i]),
+                        board.cellX(tail), board.cellY(tail));
+            }
+            int head = body.getHead();
+            sink.sprite(TILE_HEAD, board.cellX(previousHeads[i]), board.cellY(previousHeads[i]),
+                    board.cellX(head), board.cellY(head));
+        }
+        if (alive[0]) {
+            int head = bodies[0].getHead();
+            sink.focus(board.cellX(previousHeads[0]), board.cellY(previousHeads[0]),
+                    board.cellX(head), board.cellY(head));
+        }
+    }
+
+    @Override public int getDirtyCount() { return board.getDirtyCount(); }
+    @Override public int getDirtyX(int i) { return board.cellX(board.getDirtyCell(i)); }
+    @Override public int getDirtyY(int i) { return board.cellY(board.getDirtyCell(i)); }
+    @Override public boolean needsFullRedraw() { return board.isFullRedraw(); }
+    @Override public void clearDirtyCells() { board.clearDirty(); }
+
+    @Override public int getWidth() { return width; }
+    @Override public int getHeight() { return height; }
+    @Override public boolean isPlaying() { return isPlaying; }
+    @Override public int getScore() { return scores[0]; }
+    @Override public int getLives() { return alive[0] ? 1 : 0; }
+    @Override public boolean isWon() { return !isPlaying && alive[0]; }
+
+    public byte getCell(int x, int y) { return board.get(x, y); }
+    public int getTick() { return tick; }
+    public int getSnakeCount() { return snakeCount; }
+    public int getAliveCount() { return aliveCount; }
+    public boolean isAlive(int snake) { return alive[snake]; }
+    public int getScore(int snake) { return scores[snake]; }
+    public int getSnakeLength(int snake) { return bodies[snake].size(); }
+    public int getHeadX(int snake) { return board.cellX(bodies[snake].getHead()); }
+    public int getHeadY(int snake) { return board.cellY(bodies[snake].getHead()); }
+    public SnakeGame.Direction getDirection(int snake) { return directions[snake]; }
+}
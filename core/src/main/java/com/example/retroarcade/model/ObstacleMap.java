@@ -0,0 +1,162 @@
+package com.example.retroarcade.model;
+
+import java.util.Arrays;
+
+// Set of obstacle cells kept as 8x8 chunks, each one 64-bit mask, in an open-addressing
+// table keyed by chunk. Membership, insertion and removal touch a single chunk, so none of
+// them slow down as obstacles pile up; memory follows the number of non-empty chunks, not
+// the board's area, and listing every obstacle costs the chunks holding them.
+public final class ObstacleMap {
+
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int FREE = -1;
+
+    private int width;
+    private int chunksWide;
+
+    private int[] keys;
+    private long[] masks;
+    private int slotMask;
+    private int shift;
+    private int chunkCount;
+    private int size;
+
+    public ObstacleMap(int width, int height) {
+        allocate(16);
+        reset(width, height);
+    }
+
+    public void reset(int width, int height) {
+        this.width = width;
+        this.chunksWide = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        chunkCount = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int x, int y) {
+        int slot = find(chunkOf(x, y));
+        return slot >= 0 && (masks[slot] & bitOf(x, y)) != 0;
+    }
+
+    public boolean add(int x, int y) {
+        int key = chunkOf(x, y);
+        long bit = bitOf(x, y);
+        int slot = find(key);
+        if (slot < 0) {
+            slot = ~slot;
+            keys[slot] = key;
+            masks[slot] = bit;
+            size++;
+            if (++chunkCount * 4 > keys.length * 3) grow();
+            return true;
+        }
+        if ((masks[slot] & bit) != 0) return false;
+        masks[slot] |= bit;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int x, int y) {
+        int slot = find(chunkOf(x, y));
+        long bit = bitOf(x, y);
+        if (slot < 0 || (masks[slot] & bit) == 0) return false;
+        size--;
+        masks[slot] &= ~bit;
+        if (masks[slot] == 0) removeSlot(slot);
+        return true;
+    }
+
+    // Packed cells (y * width + x) of every obstacle in ascending order, so the result does
+    // not depend on the order obstacles were added in.
+    public int[] toCells() {
+        int[] cells = new int[size];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            int key = keys[slot];
+            if (key == FREE) continue;
+            int cx = key % chunksWide;
+            int cy = key / chunksWide;
+            for (long bits = masks[slot]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int x = (cx << CHUNK_SHIFT) | (bit & CHUNK_MASK);
+                int y = (cy << CHUNK_SHIFT) | (bit >> CHUNK_SHIFT);
+                cells[n++] = y * width + x;
+            }
+        }
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private int chunkOf(int x, int y) {
+        return (y >> CHUNK_SHIFT) * chunksWide + (x >> CHUNK_SHIFT);
+    }
+
+    private static long bitOf(int x, int y) {
+        return 1L << (((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK));
+    }
+
+    private int slotOf(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    // Slot holding key, or the bitwise complement of the free slot it would go in.
+    private int find(int key) {
+        int i = slotOf(key);
+        while (true) {
+            int k = keys[i];
+            if (k == key) return i;
+            if (k == FREE) return ~i;
+            i = (i + 1) & slotMask;
+        }
+    }
+
+    // Backward-shift deletion, as in CellMap.
+    private void removeSlot(int slot) {
+        chunkCount--;
+        int hole = slot;
+        int j = slot;
+        while (true) {
+            j = (j + 1) & slotMask;
+            int key = keys[j];
+            if (key == FREE) break;
+            int home = slotOf(key);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = key;
+                masks[hole] = masks[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        masks = new long[capacity];
+        Arrays.fill(keys, FREE);
+        slotMask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldMasks = masks;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            int slot = ~find(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            masks[slot] = oldMasks[i];
+        }
+    }
+}
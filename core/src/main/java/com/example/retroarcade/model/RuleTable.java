@@ -0,0 +1,87 @@
+package com.example.retroarcade.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Difficulty rules as data: a whitespace-separated table with one row per difficulty
+// (see difficulty_rules.txt next to this class), compiled once into DifficultyRules so the
+// game never branches on Difficulty. Rebalancing means editing the table, not the code.
+public final class RuleTable {
+
+    private static final String DEFAULT_RESOURCE = "difficulty_rules.txt";
+    private static final int COLUMNS = 8;
+
+    private final DifficultyRules[] rules;
+
+    private RuleTable(DifficultyRules[] rules) {
+        this.rules = rules;
+    }
+
+    public DifficultyRules get(SnakeGame.Difficulty difficulty) {
+        return rules[difficulty.ordinal()];
+    }
+
+    // The bundled table, read on first use and shared by every game after that.
+    public static RuleTable defaults() {
+        return Defaults.TABLE;
+    }
+
+    private static final class Defaults {
+        static final RuleTable TABLE = loadDefaults();
+    }
+
+    private static RuleTable loadDefaults() {
+        try (InputStream in = RuleTable.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Missing " + DEFAULT_RESOURCE);
+            return load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Blank lines and lines starting with # are skipped. Every difficulty needs a row.
+    public static RuleTable load(Reader source) throws IOException {
+        SnakeGame.Difficulty[] difficulties = SnakeGame.Difficulty.values();
+        DifficultyRules[] rules = new DifficultyRules[difficulties.length];
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\s+");
+            if (fields.length != COLUMNS) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected "
+                        + COLUMNS + " columns, found " + fields.length);
+            }
+            try {
+                SnakeGame.Difficulty difficulty = SnakeGame.Difficulty.valueOf(fields[0]);
+                rules[difficulty.ordinal()] = new DifficultyRules(
+                        Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        Long.parseLong(fields[3]), Integer.parseInt(fields[4]),
+                        Integer.parseInt(fields[5]), Integer.parseInt(fields[6]),
+                        parseBoolean(fields[7]));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        for (SnakeGame.Difficulty difficulty : difficulties) {
+            if (rules[difficulty.ordinal()] == null) {
+                throw new IllegalArgumentException("No rules for " + difficulty);
+            }
+        }
+        return new RuleTable(rules);
+    }
+
+    private static boolean parseBoolean(String field) {
+        if (field.equals("true")) return true;
+        if (field.equals("false")) return false;
+        throw new IllegalArgumentException("Expected true or false, found " + field);
+    }
+}
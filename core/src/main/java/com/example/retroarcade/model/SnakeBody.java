@@ -0,0 +1,94 @@
+package com.example.retroarcade.model;
+
+public class SnakeBody {
+    private static final int SPARSE_INITIAL_CAPACITY = 64;
+
+    private int[] cells = new int[0];
+    private int head;
+    private int length;
+
+    // Dense boards reserve room for a snake filling the whole board up front so no tick ever
+    // allocates; on sparse boards the body starts small and grows on demand instead.
+    static int initialCapacity(int boardCells) {
+        return boardCells <= Board.DENSE_MAX_CELLS ? boardCells : SPARSE_INITIAL_CAPACITY;
+    }
+
+    public void reset(int capacity) {
+        if (cells.length < capacity) {
+            cells = new int[capacity];
+        }
+        head = 0;
+        length = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (cells.length >= capacity) return;
+        int[] grown = new int[capacity];
+        for (int i = 0; i < length; i++) {
+            grown[i] = cells[index(i)];
+        }
+        cells = grown;
+        head = 0;
+    }
+
+    // Adding to a full body doubles it, so a long snake on a large board only ever pays for
+    // the cells it actually covers.
+    public void addFirst(int cell) {
+        if (length == cells.length) grow();
+        head = head == 0 ? cells.length - 1 : head - 1;
+        cells[head] = cell;
+        length++;
+    }
+
+    public void addLast(int cell) {
+        if (length == cells.length) grow();
+        cells[index(length)] = cell;
+        length++;
+    }
+
+    public int removeLast() {
+        length--;
+        return cells[index(length)];
+    }
+
+    public int get(int i) {
+        return cells[index(i)];
+    }
+
+    public int getHead() {
+        return cells[head];
+    }
+
+    public int getTail() {
+        return cells[index(length - 1)];
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public void truncate(int newLength) {
+        if (newLength < length) length = newLength;
+    }
+
+    public void set(int i, int cell) {
+        cells[index(i)] = cell;
+    }
+
+    public int capacity() {
+        return cells.length;
+    }
+
+    private void grow() {
+        ensureCapacity(Math.max(16, cells.length * 2));
+    }
+
+    private int index(int i) {
+        int idx = head + i;
+        return idx >= cells.length ? idx - cells.length : idx;
+    }
+}
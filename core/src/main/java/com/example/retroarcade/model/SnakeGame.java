@@ -0,0 +1,478 @@
+package com.example.retroarcade.model;
+
+import com.example.retroarcade.engine.GameEngine;
+import com.example.retroarcade.engine.GameInput;
+import com.example.retroarcade.engine.SpriteSink;
+
+import java.nio.ByteBuffer;
+
+public class SnakeGame implements GameEngine {
+    private int NUM_BLOCKS_WIDE = 20;
+    private int NUM_BLOCKS_HIGH = 30;
+
+    public static final int TILE_HEAD = 4;
+    private static final int TARGET_WIDTH_BLOCKS = 20;
+
+    public enum Difficulty {
+        EASY, MEDIUM, HARD
+    }
+    private Difficulty currentDifficulty;
+    private final RuleTable ruleTable;
+    private DifficultyRules rules;
+
+    private int score;
+    private int lives;
+    private boolean isPlaying;
+    private boolean isWon;
+
+    private boolean fitToView = true;
+
+    private final SnakeBody snakeBody = new SnakeBody();
+    private int appleCell = -1;
+    private int previousHeadCell = -1;
+    private int vacatedCell = -1;
+
+    private final Board board = new Board(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+    // HARD adds a bomb per apple, so long runs pile up thousands. The board answers
+    // collisions and the renderer reads bombs from it like any other tile; this set lists
+    // them for snapshots and resizes without scanning every cell of a huge board.
+    private final ObstacleMap bombs = new ObstacleMap(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+    private final GameRandom random = new GameRandom(0);
+    private long seed;
+    private int tick;
+
+    public enum GameOverReason { NONE, WALL, SELF, BOMB, BOARD_FULL }
+    private GameOverReason gameOverReason = GameOverReason.NONE;
+
+    public enum Direction {
+        UP, RIGHT, DOWN, LEFT;
+
+        public Direction opposite() {
+            switch (this) {
+                case UP:    return DOWN;
+                case RIGHT: return LEFT;
+                case DOWN:  return UP;
+                default:    return RIGHT;
+            }
+        }
+    }
+    private Direction currentDirection = Direction.RIGHT;
+    private final InputQueue inputQueue = new InputQueue();
+
+    public interface InputListener {
+        void onInput(int tick, Direction direction);
+    }
+    private InputListener inputListener;
+
+    public SnakeGame() {
+        this(RuleTable.defaults());
+    }
+
+    public SnakeGame(RuleTable ruleTable) {
+        this.ruleTable = ruleTable;
+        startNewGame(Difficulty.EASY);
+    }
+
+    @Override
+    public void fitBoard(int viewWidth, int viewHeight) {
+        if (!fitToView) return;
+        int blockSize = Math.max(1, viewWidth / TARGET_WIDTH_BLOCKS);
+        setBoardSize(TARGET_WIDTH_BLOCKS, viewHeight / blockSize);
+    }
+
+    // Pins the board to a fixed size, typically one far larger than the screen that the
+    // renderer then scrolls through; later fitBoard() calls are ignored.
+    public void lockBoardSize(int widthInBlocks, int heightInBlocks) {
+        fitToView = false;
+        setBoardSize(widthInBlocks, heightInBlocks);
+    }
+
+    public void setBoardSize(int widthInBlocks, int heightInBlocks) {
+        if (widthInBlocks == NUM_BLOCKS_WIDE && heightInBlocks == NUM_BLOCKS_HIGH) return;
+        int oldWidth = NUM_BLOCKS_WIDE;
+        this.NUM_BLOCKS_WIDE = widthInBlocks;
+        this.NUM_BLOCKS_HIGH = heightInBlocks;
+        if (tick == 0) {
+            board.resize(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+            startNewGame(currentDifficulty, seed);
+        } else {
+            rebuildBoard(oldWidth);
+        }
+    }
+
+    private void rebuildBoard(int oldWidth) {
+        board.resize(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+        snakeBody.ensureCapacity(initialBodyCapacity());
+
+        for (int i = 0; i < snakeBody.size(); i++) {
+            int cell = snakeBody.get(i);
+            int x = cell % oldWidth;
+            int y = cell / oldWidth;
+            if (!board.isInside(x, y)) {
+                snakeBody.truncate(i);
+                break;
+            }
+            snakeBody.set(i, board.cellOf(x, y));
+            board.set(x, y, Board.SNAKE);
+        }
+        if (snakeBody.isEmpty()) {
+            isPlaying = false;
+            gameOverReason = GameOverReason.WALL;
+        }
+        previousHeadCell = snakeBody.isEmpty() ? -1 : snakeBody.getHead();
+        vacatedCell = -1;
+
+        int[] oldBombs = bombs.toCells();
+        bombs.reset(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+        for (int cell : oldBombs) {
+            int x = cell % oldWidth;
+            int y = cell / oldWidth;
+            if (board.isInside(x, y) && board.isEmpty(x, y)) {
+                bombs.add(x, y);
+                board.set(x, y, Board.BOMB);
+            }
+        }
+
+        if (appleCell >= 0) {
+            int x = appleCell % oldWidth;
+            int y = appleCell / oldWidth;
+            if (board.isInside(x, y) && board.isEmpty(x, y)) {
+                appleCell = board.cellOf(x, y);
+                board.set(appleCell, Board.APPLE);
+            } else {
+                spawnApple();
+            }
+        }
+    }
+
+    private int initialBodyCapacity() {
+        return SnakeBody.initialCapacity(NUM_BLOCKS_WIDE * NUM_BLOCKS_HIGH);
+    }
+
+    public void startNewGame(Difficulty difficulty) {
+        startNewGame(difficulty, System.nanoTime() ^ System.currentTimeMillis() << 20);
+    }
+
+    public void startNewGame(Difficulty difficulty, long seed) {
+        this.currentDifficulty = difficulty;
+        this.rules = ruleTable.get(difficulty);
+        this.seed = seed;
+        random.setSeed(seed);
+
+        board.clear();
+        snakeBody.reset(initialBodyCapacity());
+        appleCell = -1;
+        addTail(10, 10);
+        addTail(9, 10);
+        addTail(8, 10);
+        previousHeadCell = snakeBody.getHead();
+        vacatedCell = -1;
+
+        score = 0;
+        tick = 0;
+        isWon = false;
+        gameOverReason = GameOverReason.NONE;
+        currentDirection = Direction.RIGHT;
+        inputQueue.clear();
+
+        setupDifficultyRules();
+
+        isPlaying = true;
+        spawnApple();
+    }
+
+    private void setupDifficultyRules() {
+        bombs.reset(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+        lives = rules.getLives();
+        spawnBombs(rules.getStartBombs());
+    }
+
+    private void spawnBombs(int count) {
+        for (int i = 0; i < count; i++) {
+            int cell = board.randomFreeCell(random);
+            if (cell < 0) return;
+            bombs.add(board.cellX(cell), board.cellY(cell));
+            board.set(cell, Board.BOMB);
+        }
+    }
+
+    private void spawnApple() {
+        appleCell = board.randomFreeCell(random);
+        if (appleCell < 0) {
+            isWon = true;
+            isPlaying = false;
+            gameOverReason = GameOverReason.BOARD_FULL;
+            return;
+        }
+        board.set(appleCell, Board.APPLE);
+    }
+
+    private void removeBomb(int x, int y) {
+        bombs.remove(x, y);
+        board.set(x, y, Board.EMPTY);
+    }
+
+    @Override
+    public void update() {
+        if (!isPlaying) return;
+        tick++;
+        applyNextInput();
+
+        int head = snakeBody.getHead();
+        previousHeadCell = head;
+        vacatedCell = -1;
+        int x = board.cellX(head);
+        int y = board.cellY(head);
+
+        switch (currentDirection) {
+            case UP:    y--; break;
+            case RIGHT: x++; break;
+            case DOWN:  y++; break;
+            case LEFT:  x--; break;
+        }
+
+        if (!board.isInside(x, y)) {
+            isPlaying = false;
+            gameOverReason = GameOverReason.WALL;
+            return;
+        }
+
+        if (isSnakeBody(x, y)) {
+            isPlaying = false;
+            gameOverReason = GameOverReason.SELF;
+            return;
+        }
+
+        int newHead = board.cellOf(x, y);
+
+        if (isBomb(x, y)) {
+            lives--;
+            removeBomb(x, y);
+
+            if (lives <= 0) {
+                isPlaying = false;
+                gameOverReason = GameOverReason.BOMB;
+                return;
+            }
+        }
+
+        boolean ateApple = newHead == appleCell;
+        snakeBody.addFirst(newHead);
+        board.set(newHead, Board.SNAKE);
+
+        if (ateApple) {
+            score++;
+            spawnApple();
+            spawnBombs(rules.getBombsPerApple());
+        } else {
+            vacatedCell = snakeBody.removeLast();
+            board.set(vacatedCell, Board.EMPTY);
+        }
+    }
+
+    public void setInputListener(InputListener listener) {
+        this.inputListener = listener;
+    }
+
+    // Inputs are queued rather than applied immediately, so two quick swipes between ticks
+    // become two consecutive turns instead of the second overwriting the first. Only inputs
+    // the queue accepts are reported to the listener.
+    public void setDirection(Direction newDir) {
+        Direction turn = rules.steer(newDir);
+        if (inputQueue.offer(turn) && inputListener != null) {
+            inputListener.onInput(tick, newDir);
+        }
+    }
+
+    // Turns the snake to an absolute heading whatever the rules do to the controls, for bots
+    // and autopilots. It goes through setDirection() as the matching input, so listeners
+    // and recordings see what a player would have pressed.
+    public void steerTo(Direction heading) {
+        setDirection(rules.inputFor(heading));
+    }
+
+    // Drops turns queued since the last tick. Tick side only, like update().
+    public void clearPendingInput() {
+        inputQueue.clear();
+    }
+
+    @Override
+    public void onInput(GameInput input) {
+        switch (input) {
+            case UP:    setDirection(Direction.UP); break;
+            case RIGHT: setDirection(Direction.RIGHT); break;
+            case DOWN:  setDirection(Direction.DOWN); break;
+            case LEFT:  setDirection(Direction.LEFT); break;
+            default:    break;
+        }
+    }
+
+    // Delay between ticks in milliseconds: the snake speeds up with every apple.
+    public long calculateCurrentSpeed() {
+        return rules.delayMillis(score);
+    }
+
+    @Override
+    public long getTickDelayNanos() {
+        return calculateCurrentSpeed() * 1_000_000L;
+    }
+
+    // The head is a sprite gliding from its previous cell, so its cell stays empty in the
+    // tile layer; the tail's last step is drawn as a second sprite sliding out of the cell
+    // it vacated.
+    @Override
+    public int getTile(int x, int y) {
+        int cell = board.cellOf(x, y);
+        if (!snakeBody.isEmpty() && cell == snakeBody.getHead()) return TILE_EMPTY;
+        return board.get(cell);
+    }
+
+    @Override
+    public void emitSprites(SpriteSink sink) {
+        if (snakeBody.isEmpty()) return;
+        int tail = snakeBody.getTail();
+        if (vacatedCell >= 0) {
+            sink.sprite(Board.SNAKE, board.cellX(vacatedCell), board.cellY(vacatedCell),
+                    board.cellX(tail), board.cellY(tail));
+        }
+        int head = snakeBody.getHead();
+        sink.sprite(TILE_HEAD, board.cellX(previousHeadCell), board.cellY(previousHeadCell),
+                board.cellX(head), board.cellY(head));
+        sink.focus(board.cellX(previousHeadCell), board.cellY(previousHeadCell),
+                board.cellX(head), board.cellY(head));
+    }
+
+    // Applies at most one turn per tick. Turns are checked against the direction the snake
+    // is actually moving in, so "up, left" from RIGHT can no longer reverse into the body;
+    // turns that would be no-ops or reversals are skipped in favour of the next one queued.
+    private void applyNextInput() {
+        Direction next;
+        while ((next = inputQueue.poll()) != null) {
+            if (next != currentDirection && next != currentDirection.opposite()) {
+                currentDirection = next;
+                return;
+            }
+        }
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x534E4B53; // "SNKS"
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_FIXED_BYTES = 65;
+
+    // Complete game state as a flat binary blob: rules, counters, RNG state, the snake from
+    // head to tail, bombs in cell order, and the board's free-cell order so spawns continue identically
+    // (sparse boards have none, see Board.writeFreeCells).
+    // Queued but not yet applied turns are not part of the state.
+    public byte[] saveSnapshot() {
+        int length = snakeBody.size();
+        ByteBuffer out = ByteBuffer.allocate(SNAPSHOT_FIXED_BYTES
+                + 4 * (length + bombs.size()) + board.freeCellsBytes());
+        out.putInt(SNAPSHOT_MAGIC).put(SNAPSHOT_VERSION)
+                .putInt(NUM_BLOCKS_WIDE).putInt(NUM_BLOCKS_HIGH)
+                .put((byte) currentDifficulty.ordinal())
+                .putLong(seed).putLong(random.getState()).putInt(tick)
+                .putInt(score).putInt(lives)
+                .put((byte) ((isPlaying ? 1 : 0) | (isWon ? 2 : 0)))
+                .put((byte) gameOverReason.ordinal())
+                .put((byte) currentDirection.ordinal())
+                .putInt(appleCell).putInt(previousHeadCell).putInt(vacatedCell);
+        out.putInt(length);
+        for (int i = 0; i < length; i++) out.putInt(snakeBody.get(i));
+        int[] bombCells = bombs.toCells();
+        out.putInt(bombCells.length);
+        for (int cell : bombCells) out.putInt(cell);
+        board.writeFreeCells(out);
+        return out.array();
+    }
+
+    public void restoreSnapshot(byte[] snapshot) {
+        ByteBuffer in = ByteBuffer.wrap(snapshot);
+        if (in.getInt() != SNAPSHOT_MAGIC || in.get() != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        // A restored board keeps its saved size, as if locked: fitting it to the view would
+        // cut the saved snake down to whatever fits.
+        fitToView = false;
+        NUM_BLOCKS_WIDE = in.getInt();
+        NUM_BLOCKS_HIGH = in.getInt();
+        currentDifficulty = Difficulty.values()[in.get()];
+        rules = ruleTable.get(currentDifficulty);
+        seed = in.getLong();
+        random.setState(in.getLong());
+        tick = in.getInt();
+        score = in.getInt();
+        lives = in.getInt();
+        int flags = in.get();
+        isPlaying = (flags & 1) != 0;
+        isWon = (flags & 2) != 0;
+        gameOverReason = GameOverReason.values()[in.get()];
+        currentDirection = Direction.values()[in.get()];
+        appleCell = in.getInt();
+        previousHeadCell = in.getInt();
+        vacatedCell = in.getInt();
+        inputQueue.clear();
+
+        board.resize(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+        int length = in.getInt();
+        snakeBody.reset(initialBodyCapacity());
+        for (int i = 0; i < length; i++) {
+            int cell = in.getInt();
+            snakeBody.addLast(cell);
+            board.set(cell, Board.SNAKE);
+        }
+        bombs.reset(NUM_BLOCKS_WIDE, NUM_BLOCKS_HIGH);
+        int bombCount = in.getInt();
+        for (int i = 0; i < bombCount; i++) {
+            int cell = in.getInt();
+            bombs.add(board.cellX(cell), board.cellY(cell));
+            board.set(cell, Board.BOMB);
+        }
+        if (appleCell >= 0) board.set(appleCell, Board.APPLE);
+        board.readFreeCells(in);
+    }
+
+    private void addTail(int x, int y) {
+        snakeBody.addLast(board.cellOf(x, y));
+        board.set(x, y, Board.SNAKE);
+    }
+
+    private boolean isSnakeBody(int x, int y) {
+        return board.get(x, y) == Board.SNAKE;
+    }
+
+    private boolean isBomb(int x, int y) {
+        return board.get(x, y) == Board.BOMB;
+    }
+
+    public byte getCell(int x, int y) { return board.get(x, y); }
+    public int getDirtyCount() { return board.getDirtyCount(); }
+    public int getDirtyX(int i) { return board.cellX(board.getDirtyCell(i)); }
+    public int getDirtyY(int i) { return board.cellY(board.getDirtyCell(i)); }
+    public boolean needsFullRedraw() { return board.isFullRedraw(); }
+    public void clearDirtyCells() { board.clearDirty(); }
+
+    public int getSnakeLength() { return snakeBody.size(); }
+    public int getSnakeX(int i) { return board.cellX(snakeBody.get(i)); }
+    public int getSnakeY(int i) { return board.cellY(snakeBody.get(i)); }
+    public int getPreviousHeadX() { return board.cellX(previousHeadCell); }
+    public int getPreviousHeadY() { return board.cellY(previousHeadCell); }
+    public boolean hasVacatedCell() { return vacatedCell >= 0; }
+    public int getVacatedX() { return board.cellX(vacatedCell); }
+    public int getVacatedY() { return board.cellY(vacatedCell); }
+    public int getBombCount() { return bombs.size(); }
+    public boolean hasApple() { return appleCell >= 0; }
+    public int getAppleX() { return board.cellX(appleCell); }
+    public int getAppleY() { return board.cellY(appleCell); }
+    public Direction getDirection() { return currentDirection; }
+    public boolean hasReversedControls() { return rules.hasReversedControls(); }
+    public long getSeed() { return seed; }
+    public int getTick() { return tick; }
+    public Difficulty getDifficulty() { return currentDifficulty; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public boolean isPlaying() { return isPlaying; }
+    public boolean isWon() { return isWon; }
+    public GameOverReason getGameOverReason() { return gameOverReason; }
+    public int getWidth() { return NUM_BLOCKS_WIDE; }
+    public int getHeight() { return NUM_BLOCKS_HIGH; }
+}
@@ -0,0 +1,49 @@
+package com.example.retroarcade.replay;
+
+import java.util.Arrays;
+
+// Growable byte buffer with LEB128 varints; grows by doubling so appends are amortised O(1).
+// Also used for the server's state frames.
+public final class ByteSink {
+
+    private byte[] buffer;
+    private int size;
+
+    public ByteSink(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeByte(int b) {
+        if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+        buffer[size++] = (byte) b;
+    }
+
+    public void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) writeByte((int) (value >>> shift));
+    }
+
+    public void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    // Backing array, valid up to size() until the next write.
+    public byte[] array() {
+        return buffer;
+    }
+
+    public void writeTo(byte[] out, int offset) {
+        System.arraycopy(buffer, 0, out, offset, size);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.retroarcade.replay;
+
+import com.example.retroarcade.engine.SpriteSink;
+import com.example.retroarcade.engine.TileLayer;
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.SnakeGame;
+
+// Replays a recorded run as a ghost beside a live game dealt from the same seed on the same
+// board. The recording stays in its compact form and a ReplayPlayer streams it into a
+// private SnakeGame, one tick for every live tick, so a ghost tick costs what a live tick
+// does and no list of positions is ever decoded. It is drawn like a game, as a layer of
+// body tiles patched from the ghost board's dirty cells plus head and tail sprites, so a
+// frame costs the same however long the ghost is. Like the live game, it is stepped and
+// drawn with the live game's monitor held.
+public class GhostRun implements TileLayer {
+
+    private final ReplayPlayer player;
+    private final SnakeGame ghost = new SnakeGame();
+    private boolean running;
+    // Set when the ghost vanishes, so the body tiles already drawn get cleared.
+    private boolean hidden;
+
+    public GhostRun(byte[] recording) {
+        player = new ReplayPlayer(recording);
+    }
+
+    // Whether a live game that has not ticked yet would race this run: same seed,
+    // difficulty and board.
+    public boolean matches(SnakeGame live) {
+        return live.getTick() == 0
+                && live.getSeed() == player.getSeed()
+                && live.getDifficulty() == player.getDifficulty()
+                && live.getWidth() == player.getWidth()
+                && live.getHeight() == player.getHeight();
+    }
+
+    // Rewinds the ghost to the start of the run if it matches the live game, and hides it
+    // otherwise. Returns whether it is running.
+    public boolean start(SnakeGame live) {
+        boolean wasRunning = running;
+        running = matches(live);
+        if (running) {
+            player.reset(ghost);
+        } else if (wasRunning) {
+            hidden = true;
+        }
+        return running;
+    }
+
+    public void stop() {
+        if (running) hidden = true;
+        running = false;
+    }
+
+    // Advances the ghost by one tick; call once per live tick. It vanishes when the recorded
+    // run ends.
+    public void step() {
+        if (!running) return;
+        if (!player.step(ghost)) stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The body without the head, which is a sprite. The ghost's apples and bombs are its
+    // own and are not drawn. The live board may since have been resized under the ghost.
+    @Override
+    public int getTile(int x, int y) {
+        if (!running || x >= ghost.getWidth() || y >= ghost.getHeight()
+                || ghost.getCell(x, y) != Board.SNAKE) {
+            return TILE_EMPTY;
+        }
+        if (x == ghost.getSnakeX(0) && y == ghost.getSnakeY(0)) return TILE_EMPTY;
+        return Board.SNAKE;
+    }
+
+    @Override
+    public void emitSprites(SpriteSink sink) {
+        if (!running) return;
+        sink.sprite(SnakeGame.TILE_HEAD, ghost.getPreviousHeadX(), ghost.getPreviousHeadY(),
+                ghost.getSnakeX(0), ghost.getSnakeY(0));
+        if (ghost.hasVacatedCell()) {
+            int last = ghost.getSnakeLength() - 1;
+            sink.sprite(Board.SNAKE, ghost.getVacatedX(), ghost.getVacatedY(),
+                    ghost.getSnakeX(last), ghost.getSnakeY(last));
+        }
+    }
+
+    @Override public int getDirtyCount() { return ghost.getDirtyCount(); }
+    @Override public int getDirtyX(int i) { return ghost.getDirtyX(i); }
+    @Override public int getDirtyY(int i) { return ghost.getDirtyY(i); }
+    @Override public boolean needsFullRedraw() { return hidden || ghost.needsFullRedraw(); }
+
+    @Override
+    public void clearDirtyCells() {
+        hidden = false;
+        ghost.clearDirtyCells();
+    }
+
+    public long getSeed() { return player.getSeed(); }
+    public SnakeGame.Difficulty getDifficulty() { return player.getDifficulty(); }
+    public int getWidth() { return player.getWidth(); }
+    public int getHeight() { return player.getHeight(); }
+    public int getTick() { return ghost.getTick(); }
+    public int getScore() { return ghost.getScore(); }
+    public int getHeadX() { return ghost.getSnakeX(0); }
+    public int getHeadY() { return ghost.getSnakeY(0); }
+}
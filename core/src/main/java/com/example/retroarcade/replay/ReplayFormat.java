@@ -0,0 +1,17 @@
+package com.example.retroarcade.replay;
+
+// Layout of a recorded session:
+//   "SNKR", version byte, seed (8 bytes, big-endian), difficulty ordinal byte,
+//   varint width, varint height, then one varint per record.
+// A record's low three bits are a direction ordinal (0-3) or END (4); the remaining bits
+// are the tick delta since the previous record. END is followed by a varint final score.
+final class ReplayFormat {
+    static final byte[] MAGIC = {'S', 'N', 'K', 'R'};
+    static final int VERSION = 1;
+    static final int END = 4;
+    static final int KIND_BITS = 3;
+    static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private ReplayFormat() {
+    }
+}
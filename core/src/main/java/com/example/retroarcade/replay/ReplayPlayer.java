@@ -0,0 +1,106 @@
+package com.example.retroarcade.replay;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// Streams a recording back into a SnakeGame one tick at a time; only the current read
+// position and the next pending record are held, never a decoded list of inputs.
+public class ReplayPlayer {
+
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+
+    private final byte[] data;
+    private final long seed;
+    private final SnakeGame.Difficulty difficulty;
+    private final int width;
+    private final int height;
+    private final int eventsStart;
+
+    private int position;
+    private int nextTick;
+    private int nextKind;
+
+    public ReplayPlayer(byte[] data) {
+        this.data = data;
+        for (int i = 0; i < ReplayFormat.MAGIC.length; i++) {
+            if (data.length <= i || data[i] != ReplayFormat.MAGIC[i]) {
+                throw new IllegalArgumentException("Not a replay");
+            }
+        }
+        position = ReplayFormat.MAGIC.length;
+        if ((data[position++] & 0xFF) != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version");
+        }
+        long s = 0;
+        for (int i = 0; i < 8; i++) s = (s << 8) | (data[position++] & 0xFF);
+        seed = s;
+        difficulty = SnakeGame.Difficulty.values()[data[position++]];
+        width = (int) readVarint();
+        height = (int) readVarint();
+        eventsStart = position;
+    }
+
+    public void reset(SnakeGame game) {
+        game.startNewGame(difficulty, seed);
+        if (game.getWidth() != width || game.getHeight() != height) {
+            game.setBoardSize(width, height);
+        }
+        position = eventsStart;
+        nextTick = 0;
+        readRecord();
+    }
+
+    // Feeds every input recorded for the current tick, then advances the game by one tick.
+    public boolean step(SnakeGame game) {
+        while (nextKind != ReplayFormat.END && nextTick == game.getTick()) {
+            game.setDirection(DIRECTIONS[nextKind]);
+            readRecord();
+        }
+        game.update();
+        return game.isPlaying() && !isFinished(game);
+    }
+
+    public boolean isFinished(SnakeGame game) {
+        return nextKind == ReplayFormat.END && game.getTick() >= nextTick;
+    }
+
+    // Re-runs the whole recording without rendering and checks it ends on the recorded
+    // tick with the recorded score.
+    public boolean verify(SnakeGame game) {
+        reset(game);
+        while (game.isPlaying() && !isFinished(game)) {
+            step(game);
+        }
+        return nextKind == ReplayFormat.END
+                && game.getTick() == nextTick
+                && game.getScore() == recordedScore();
+    }
+
+    public long getSeed() { return seed; }
+    public SnakeGame.Difficulty getDifficulty() { return difficulty; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    private int recordedScore() {
+        int saved = position;
+        int score = (int) readVarint();
+        position = saved;
+        return score;
+    }
+
+    private void readRecord() {
+        long record = readVarint();
+        nextTick += (int) (record >>> ReplayFormat.KIND_BITS);
+        nextKind = (int) (record & ReplayFormat.KIND_MASK);
+    }
+
+    private long readVarint() {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.retroarcade.replay;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// Captures the raw inputs SnakeGame.setDirection() queues, tagged with the tick they
+// arrived on. Together with the seed, difficulty and board size that is enough to replay
+// the session exactly, usually in a few hundred bytes.
+public class ReplayRecorder implements SnakeGame.InputListener {
+
+    private final ByteSink events = new ByteSink(256);
+    private final ByteSink header = new ByteSink(32);
+    private int lastTick;
+    private SnakeGame game;
+
+    public void start(SnakeGame game) {
+        this.game = game;
+        events.reset();
+        lastTick = 0;
+        game.setInputListener(this);
+    }
+
+    @Override
+    public void onInput(int tick, SnakeGame.Direction direction) {
+        writeRecord(tick, direction.ordinal());
+    }
+
+    public boolean isRecording() {
+        return game != null;
+    }
+
+    // The header is written last: the view may still resize the board (and re-deal it)
+    // after start(), so the board size is only final once the game has been played.
+    public byte[] finish() {
+        game.setInputListener(null);
+        writeRecord(game.getTick(), ReplayFormat.END);
+        events.writeVarint(game.getScore());
+
+        header.reset();
+        for (byte b : ReplayFormat.MAGIC) header.writeByte(b);
+        header.writeByte(ReplayFormat.VERSION);
+        header.writeLong(game.getSeed());
+        header.writeByte(game.getDifficulty().ordinal());
+        header.writeVarint(game.getWidth());
+        header.writeVarint(game.getHeight());
+
+        byte[] out = new byte[header.size() + events.size()];
+        header.writeTo(out, 0);
+        events.writeTo(out, header.size());
+        game = null;
+        return out;
+    }
+
+    private void writeRecord(int tick, int kind) {
+        events.writeVarint(((long) (tick - lastTick) << ReplayFormat.KIND_BITS) | kind);
+        lastTick = tick;
+    }
+}
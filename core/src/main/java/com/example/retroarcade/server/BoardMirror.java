@@ -0,0 +1,118 @@
+package com.example.retroarcade.server;
+
+import java.util.Arrays;
+
+// Client-side copy of a room's board, rebuilt from a keyframe and kept current by
+// applying deltas in order. Deltas that arrive before the first keyframe are rejected, as
+// are frames naming cells outside the board.
+public class BoardMirror {
+
+    private byte[] cells = new byte[0];
+    private int width;
+    private int height;
+    private boolean synced;
+
+    private int tick;
+    private int score;
+    private int lives;
+    private boolean playing;
+    private boolean won;
+    private int headCell = -1;
+
+    private byte[] frame;
+    private int position;
+    private int limit;
+
+    // A malformed frame throws IllegalArgumentException and leaves the mirror as it was.
+    public void apply(byte[] frame, int length) {
+        this.frame = frame;
+        this.position = 0;
+        this.limit = length;
+
+        int type = readByte();
+        if (type != FrameFormat.KEYFRAME && (type != FrameFormat.DELTA || !synced)) {
+            throw new IllegalArgumentException("Unexpected frame type " + type);
+        }
+        int newTick = (int) readVarint();
+        int newScore = (int) readVarint();
+        int newLives = (int) readVarint();
+        int flags = readByte();
+        long newHead = readVarint() - 1;
+        long newWidth = width;
+        long newHeight = height;
+        if (type == FrameFormat.KEYFRAME) {
+            newWidth = readVarint();
+            newHeight = readVarint();
+        }
+        long area = newWidth * newHeight;
+        if (newWidth < 0 || newWidth > Integer.MAX_VALUE
+                || newHeight < 0 || newHeight > Integer.MAX_VALUE
+                || area > Integer.MAX_VALUE || newHead < -1 || newHead >= area) {
+            throw new IllegalArgumentException("Board " + newWidth + "x" + newHeight
+                    + " with head " + newHead + " out of range");
+        }
+
+        // Check every cell before touching the board, so a bad frame changes nothing.
+        int cellsStart = position;
+        long count = readVarint();
+        long cell = 0;
+        for (long i = 0; i < count; i++) {
+            cell += readVarint() >>> FrameFormat.VALUE_BITS;
+            if (cell >= area) {
+                throw new IllegalArgumentException("Cell " + cell + " outside the board");
+            }
+        }
+        if (position != limit) throw new IllegalArgumentException("Trailing bytes in frame");
+
+        tick = newTick;
+        score = newScore;
+        lives = newLives;
+        playing = (flags & FrameFormat.FLAG_PLAYING) != 0;
+        won = (flags & FrameFormat.FLAG_WON) != 0;
+        headCell = (int) newHead;
+        if (type == FrameFormat.KEYFRAME) {
+            width = (int) newWidth;
+            height = (int) newHeight;
+            if (cells.length < area) cells = new byte[(int) area];
+            Arrays.fill(cells, 0, (int) area, (byte) 0);
+            synced = true;
+        }
+
+        position = cellsStart;
+        count = readVarint();
+        int at = 0;
+        for (long i = 0; i < count; i++) {
+            long entry = readVarint();
+            at += (int) (entry >>> FrameFormat.VALUE_BITS);
+            cells[at] = (byte) (entry & FrameFormat.VALUE_MASK);
+        }
+        this.frame = null;
+    }
+
+    private int readByte() {
+        if (position >= limit) throw new IllegalArgumentException("Truncated frame");
+        return frame[position++];
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position >= limit) throw new IllegalArgumentException("Truncated frame");
+            byte b = frame[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    public boolean isSynced() { return synced; }
+    public byte getCell(int x, int y) { return cells[y * width + x]; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getTick() { return tick; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public boolean isPlaying() { return playing; }
+    public boolean isWon() { return won; }
+    public int getHeadX() { return headCell < 0 ? -1 : headCell % width; }
+    public int getHeadY() { return headCell < 0 ? -1 : headCell / width; }
+}
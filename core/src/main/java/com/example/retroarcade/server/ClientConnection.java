@@ -0,0 +1,7 @@
+package com.example.retroarcade.server;
+
+// Where a room sends its frames. Called on the room's server thread; the array is reused
+// for the next frame, so implementations must copy or consume the bytes before returning.
+public interface ClientConnection {
+    void send(byte[] frame, int length);
+}
@@ -0,0 +1,77 @@
+package com.example.retroarcade.server;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.replay.ByteSink;
+
+import java.util.Arrays;
+
+// Turns a game's state into frames. Deltas come straight from the board's dirty-cell
+// list, so encoding a tick costs the handful of cells that changed, not the board.
+final class FrameEncoder {
+
+    private final ByteSink out = new ByteSink(256);
+    private int[] cells = new int[64];
+
+    ByteSink keyframe(SnakeGame game) {
+        writeHeader(game, FrameFormat.KEYFRAME);
+        int width = game.getWidth();
+        int height = game.getHeight();
+        out.writeVarint(width);
+        out.writeVarint(height);
+
+        int count = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (game.getCell(x, y) == Board.EMPTY) continue;
+                if (count == cells.length) cells = Arrays.copyOf(cells, count * 2);
+                cells[count++] = y * width + x;
+            }
+        }
+        writeCells(game, count);
+        return out;
+    }
+
+    ByteSink delta(SnakeGame game) {
+        writeHeader(game, FrameFormat.DELTA);
+        int width = game.getWidth();
+        int count = game.getDirtyCount();
+        if (cells.length < count) cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = game.getDirtyY(i) * width + game.getDirtyX(i);
+        }
+        Arrays.sort(cells, 0, count);
+        writeCells(game, count);
+        return out;
+    }
+
+    private void writeHeader(SnakeGame game, int type) {
+        out.reset();
+        out.writeByte(type);
+        out.writeVarint(game.getTick());
+        out.writeVarint(game.getScore());
+        out.writeVarint(game.getLives());
+        out.writeByte((game.isPlaying() ? FrameFormat.FLAG_PLAYING : 0)
+                | (game.isWon() ? FrameFormat.FLAG_WON : 0));
+        int head = game.getSnakeLength() == 0 ? -1
+                : game.getSnakeY(0) * game.getWidth() + game.getSnakeX(0);
+        out.writeVarint(head + 1);
+    }
+
+    // Cells must be sorted; a cell changed twice in one tick is sent once, with its value now.
+    private void writeCells(SnakeGame game, int count) {
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || cells[i] != cells[i - 1]) cells[unique++] = cells[i];
+        }
+        out.writeVarint(unique);
+        int width = game.getWidth();
+        int previous = 0;
+        for (int i = 0; i < unique; i++) {
+            int cell = cells[i];
+            int value = game.getCell(cell % width, cell / width);
+            out.writeVarint((long) (cell - previous) << FrameFormat.VALUE_BITS | value);
+            previous = cell;
+        }
+    }
+}
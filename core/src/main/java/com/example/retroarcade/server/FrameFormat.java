@@ -0,0 +1,22 @@
+package com.example.retroarcade.server;
+
+// Server-to-client state frames. Every frame is
+//   type byte, varint tick, varint score, varint lives, flags byte, varint head cell + 1,
+// then, for keyframes only, varint width and height, and finally varint cell count and one
+// varint per cell: (cell - previous cell) << VALUE_BITS | board value, cells ascending.
+// A keyframe lists every non-empty cell; a delta lists only the cells that changed since
+// the previous frame, with their new value (Board.EMPTY for a tail that moved on).
+final class FrameFormat {
+
+    static final int KEYFRAME = 1;
+    static final int DELTA = 2;
+
+    static final int FLAG_PLAYING = 1;
+    static final int FLAG_WON = 2;
+
+    static final int VALUE_BITS = 2;
+    static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    private FrameFormat() {
+    }
+}
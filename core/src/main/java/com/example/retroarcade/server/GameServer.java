@@ -0,0 +1,110 @@
+package com.example.retroarcade.server;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.sim.BotPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Runs many rooms on a small fixed pool. Rooms are dealt round-robin onto one shard per
+// thread, and each shard ticks all of its rooms back to back at a fixed rate, so the pool
+// schedules one task per thread rather than one per room. A shard whose pass takes longer
+// than the tick period counts an overrun: that is the signal it holds too many rooms.
+public class GameServer implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(GameServer.class.getName());
+
+    private final ScheduledExecutorService executor;
+    private final Shard[] shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public GameServer(int threads, long tickNanos) {
+        executor = Executors.newScheduledThreadPool(threads);
+        shards = new Shard[threads];
+        for (int i = 0; i < threads; i++) {
+            Shard shard = new Shard(tickNanos);
+            shards[i] = shard;
+            executor.scheduleAtFixedRate(shard::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Room openRoom(SnakeGame.Difficulty difficulty, long seed, int width, int height,
+                         BotPolicy autopilot) {
+        Room room = new Room(difficulty, seed, width, height, autopilot);
+        shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)].opening.add(room);
+        return room;
+    }
+
+    public long getOverruns() {
+        long total = 0;
+        for (Shard shard : shards) total += shard.overruns;
+        return total;
+    }
+
+    public long getTicks() {
+        long total = 0;
+        for (Shard shard : shards) total += shard.ticks;
+        return total;
+    }
+
+    // Stops ticking and waits up to a second for passes already running to finish.
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                LOG.warning("Shards still ticking after a second; interrupted them");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Shard {
+        private final long tickNanos;
+        private final List<Room> rooms = new ArrayList<>();
+        private final ConcurrentLinkedQueue<Room> opening = new ConcurrentLinkedQueue<>();
+        private volatile long ticks;
+        private volatile long overruns;
+
+        Shard(long tickNanos) {
+            this.tickNanos = tickNanos;
+        }
+
+        void tick() {
+            long start = System.nanoTime();
+            Room room;
+            while ((room = opening.poll()) != null) rooms.add(room);
+
+            // A room that throws is failed and dropped rather than cancelling the shard's
+            // task, which would silently stop every other room on it.
+            int kept = 0;
+            for (int i = 0; i < rooms.size(); i++) {
+                room = rooms.get(i);
+                boolean keep;
+                try {
+                    room.tick();
+                    keep = !room.isFinished();
+                } catch (RuntimeException e) {
+                    LOG.log(Level.SEVERE, "Room failed at tick " + room.getGame().getTick(), e);
+                    room.fail(e);
+                    keep = false;
+                }
+                if (keep) rooms.set(kept++, room);
+            }
+            for (int i = rooms.size() - 1; i >= kept; i--) rooms.remove(i);
+
+            ticks++;
+            if (System.nanoTime() - start > tickNanos) overruns++;
+        }
+    }
+}
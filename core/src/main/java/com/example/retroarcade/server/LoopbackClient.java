@@ -0,0 +1,35 @@
+package com.example.retroarcade.server;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// In-process stand-in for a networked client: frames are decoded straight into a mirror
+// on the server thread and inputs go straight into the room, with byte counts kept as a
+// socket would see them.
+public class LoopbackClient implements ClientConnection {
+
+    private final BoardMirror mirror = new BoardMirror();
+    private Room room;
+    private volatile long framesReceived;
+    private volatile long bytesReceived;
+
+    public void connect(Room room) {
+        this.room = room;
+        room.join(this);
+    }
+
+    public void sendInput(SnakeGame.Direction direction) {
+        room.submitInput(direction);
+    }
+
+    @Override
+    public void send(byte[] frame, int length) {
+        mirror.apply(frame, length);
+        framesReceived++;
+        bytesReceived += length;
+    }
+
+    // Only consistent once the server has stopped or from within send().
+    public BoardMirror getMirror() { return mirror; }
+    public long getFramesReceived() { return framesReceived; }
+    public long getBytesReceived() { return bytesReceived; }
+}
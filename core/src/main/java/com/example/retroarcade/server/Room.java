@@ -0,0 +1,83 @@
+package com.example.retroarcade.server;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.replay.ByteSink;
+import com.example.retroarcade.sim.BotPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// One authoritative game and the clients watching it. All game state is touched only by
+// the server thread that owns the room; clients join through a queue and steer through the
+// game's input queue, which takes a single producer, so one client controls each room.
+public class Room {
+
+    private final SnakeGame game = new SnakeGame();
+    private final BotPolicy autopilot;
+    private final FrameEncoder encoder = new FrameEncoder();
+    private final List<ClientConnection> clients = new ArrayList<>();
+    private final ConcurrentLinkedQueue<ClientConnection> joining = new ConcurrentLinkedQueue<>();
+    private volatile boolean finished;
+    private volatile RuntimeException failure;
+
+    // With an autopilot, the room steers itself and ignores client input.
+    public Room(SnakeGame.Difficulty difficulty, long seed, int width, int height,
+                BotPolicy autopilot) {
+        game.setBoardSize(width, height);
+        game.startNewGame(difficulty, seed);
+        this.autopilot = autopilot;
+    }
+
+    public void join(ClientConnection client) {
+        joining.add(client);
+    }
+
+    public void submitInput(SnakeGame.Direction direction) {
+        if (autopilot == null) game.setDirection(direction);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // What ended the room if a tick threw rather than the game ending; null otherwise.
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    void fail(RuntimeException cause) {
+        failure = cause;
+        finished = true;
+    }
+
+    // Advances the game one tick and sends every client what changed. Newly joined clients
+    // get a keyframe first, and so does everyone when the board was rebuilt.
+    public void tick() {
+        if (finished) return;
+        ClientConnection client;
+        while ((client = joining.poll()) != null) {
+            clients.add(client);
+            ByteSink frame = encoder.keyframe(game);
+            client.send(frame.array(), frame.size());
+        }
+
+        if (autopilot != null) {
+            SnakeGame.Direction dir = autopilot.nextDirection(game);
+            if (dir != null) game.steerTo(dir);
+        }
+        game.update();
+
+        ByteSink frame = game.needsFullRedraw() ? encoder.keyframe(game) : encoder.delta(game);
+        game.clearDirtyCells();
+        for (int i = 0; i < clients.size(); i++) {
+            clients.get(i).send(frame.array(), frame.size());
+        }
+        if (!game.isPlaying()) finished = true;
+    }
+
+    // For checking mirrors against the authority once the server has stopped.
+    public SnakeGame getGame() {
+        return game;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.SnakeGame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+// Runs independent seeded games headless on a fork-join pool. Each leaf task reuses one
+// SnakeGame for its whole range of games and folds results into its own stats, which are
+// merged on join, so memory does not grow with the number of games.
+public class BatchSimulator {
+
+    private static final int GAMES_PER_LEAF = 256;
+
+    private final ForkJoinPool pool;
+    private final SnakeGame.Difficulty difficulty;
+    private final int width;
+    private final int height;
+    private final int maxTicks;
+    private final LongFunction<BotPolicy> botFactory;
+
+    public BatchSimulator(ForkJoinPool pool, SnakeGame.Difficulty difficulty, int width, int height,
+                          int maxTicks, LongFunction<BotPolicy> botFactory) {
+        this.pool = pool;
+        this.difficulty = difficulty;
+        this.width = width;
+        this.height = height;
+        this.maxTicks = maxTicks;
+        this.botFactory = botFactory;
+    }
+
+    public BatchSimulator(SnakeGame.Difficulty difficulty, int width, int height,
+                          int maxTicks, LongFunction<BotPolicy> botFactory) {
+        this(ForkJoinPool.commonPool(), difficulty, width, height, maxTicks, botFactory);
+    }
+
+    public SimulationStats run(long baseSeed, int games) {
+        return pool.invoke(new Batch(baseSeed, 0, games));
+    }
+
+    public static long seedFor(long baseSeed, int gameIndex) {
+        long z = baseSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public void play(SnakeGame game, long seed) {
+        game.startNewGame(difficulty, seed);
+        BotPolicy bot = botFactory.apply(seed);
+        while (game.isPlaying() && game.getTick() < maxTicks) {
+            SnakeGame.Direction dir = bot.nextDirection(game);
+            if (dir != null) game.steerTo(dir);
+            game.update();
+        }
+    }
+
+    private class Batch extends RecursiveTask<SimulationStats> {
+        private final long baseSeed;
+        private final int from;
+        private final int to;
+
+        Batch(long baseSeed, int from, int to) {
+            this.baseSeed = baseSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= GAMES_PER_LEAF) {
+                SimulationStats stats = new SimulationStats();
+                SnakeGame game = new SnakeGame();
+                game.setBoardSize(width, height);
+                for (int i = from; i < to; i++) {
+                    play(game, seedFor(baseSeed, i));
+                    stats.add(game);
+                }
+                return stats;
+            }
+
+            int mid = (from + to) >>> 1;
+            Batch left = new Batch(baseSeed, from, mid);
+            left.fork();
+            SimulationStats stats = new Batch(baseSeed, mid, to).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.SnakeGame;
+
+public interface BotPolicy {
+    // Called once per tick before update(); return null to keep the current direction.
+    SnakeGame.Direction nextDirection(SnakeGame game);
+}
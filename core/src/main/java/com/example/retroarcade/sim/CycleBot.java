@@ -0,0 +1,24 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// Follows a Hamiltonian cycle: rows are swept left and right and column 0 is the way back
+// up. It never dies and eventually eats every apple. Needs an even board height.
+public class CycleBot implements BotPolicy {
+
+    @Override
+    public SnakeGame.Direction nextDirection(SnakeGame game) {
+        int x = game.getSnakeX(0);
+        int y = game.getSnakeY(0);
+
+        if (x == 0) {
+            return y == 0 ? SnakeGame.Direction.RIGHT : SnakeGame.Direction.UP;
+        } else if (y % 2 == 0) {
+            return x < game.getWidth() - 1 ? SnakeGame.Direction.RIGHT : SnakeGame.Direction.DOWN;
+        } else if (x > 1 || y == game.getHeight() - 1) {
+            return SnakeGame.Direction.LEFT;
+        } else {
+            return SnakeGame.Direction.DOWN;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.GameRandom;
+import com.example.retroarcade.model.SnakeGame;
+
+// Heads straight for the apple, only looking one cell ahead. With some probability it
+// takes a random safe turn instead, which spreads the outcomes when balancing rules.
+public class GreedyBot implements BotPolicy {
+
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+
+    private final GameRandom random;
+    private final int wanderPercent;
+
+    public GreedyBot(long seed, int wanderPercent) {
+        this.random = new GameRandom(seed);
+        this.wanderPercent = wanderPercent;
+    }
+
+    @Override
+    public SnakeGame.Direction nextDirection(SnakeGame game) {
+        if (random.nextInt(100) < wanderPercent) {
+            int start = random.nextInt(DIRECTIONS.length);
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                SnakeGame.Direction dir = DIRECTIONS[(start + i) % DIRECTIONS.length];
+                if (isSafe(game, dir)) return dir;
+            }
+            return null;
+        }
+
+        SnakeGame.Direction best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (SnakeGame.Direction dir : DIRECTIONS) {
+            if (!isSafe(game, dir)) continue;
+            int distance = Math.abs(game.getAppleX() - nextX(game, dir))
+                    + Math.abs(game.getAppleY() - nextY(game, dir));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = dir;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isSafe(SnakeGame game, SnakeGame.Direction dir) {
+        if (game.getDirection().opposite() == dir) return false;
+        int x = nextX(game, dir);
+        int y = nextY(game, dir);
+        if (x < 0 || y < 0 || x >= game.getWidth() || y >= game.getHeight()) return false;
+        byte cell = game.getCell(x, y);
+        return cell == Board.EMPTY || cell == Board.APPLE;
+    }
+
+    private static int nextX(SnakeGame game, SnakeGame.Direction dir) {
+        int x = game.getSnakeX(0);
+        if (dir == SnakeGame.Direction.RIGHT) return x + 1;
+        if (dir == SnakeGame.Direction.LEFT) return x - 1;
+        return x;
+    }
+
+    private static int nextY(SnakeGame game, SnakeGame.Direction dir) {
+        int y = game.getSnakeY(0);
+        if (dir == SnakeGame.Direction.DOWN) return y + 1;
+        if (dir == SnakeGame.Direction.UP) return y - 1;
+        return y;
+    }
+}
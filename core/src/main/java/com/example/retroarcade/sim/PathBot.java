@@ -0,0 +1,166 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.SnakeGame;
+
+import java.util.Arrays;
+
+// Plans a shortest path to the apple with a breadth-first search over the board and then
+// follows it. The plan only needs redoing when the apple moves or something unexpected
+// blocks the next step: the snake's own head is the only thing that enters empty cells
+// between apples, and it is walking the path. When no path exists it steps towards the
+// most open space instead. All search state lives in int arrays sized to the board and
+// reused, so planning allocates nothing once they exist.
+public class PathBot implements BotPolicy {
+
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    private int width;
+    private int height;
+    private int[] queue = new int[0];
+    private int[] parent = new int[0];
+    // seen[cell] == epoch marks cells visited by the current search, so nothing is cleared.
+    private int[] seen = new int[0];
+    private int epoch;
+
+    // Planned cells from the first step to the apple; path[next] is the cell to enter next.
+    private int[] path = new int[0];
+    private int pathLength;
+    private int next;
+    private int plannedFrom = -1;
+    private int plannedApple = -1;
+
+    // Drops the current plan, e.g. after the game has been restarted or restored.
+    public void invalidate() {
+        pathLength = 0;
+        next = 0;
+        plannedFrom = -1;
+        plannedApple = -1;
+    }
+
+    @Override
+    public SnakeGame.Direction nextDirection(SnakeGame game) {
+        ensureCapacity(game.getWidth(), game.getHeight());
+        int head = cellOf(game.getSnakeX(0), game.getSnakeY(0));
+        int apple = game.getAppleX() < 0 ? -1 : cellOf(game.getAppleX(), game.getAppleY());
+
+        if (!followsPlan(game, head, apple)) {
+            plannedApple = apple;
+            if (apple < 0 || !plan(game, head, apple)) {
+                invalidate();
+                return towardsSpace(game, head);
+            }
+        }
+        return directionTo(head, path[next++]);
+    }
+
+    // The plan still holds if it is for this apple, the snake has been walking it, and the
+    // next cell is still free.
+    private boolean followsPlan(SnakeGame game, int head, int apple) {
+        if (apple != plannedApple || next >= pathLength) return false;
+        int previous = next == 0 ? plannedFrom : path[next - 1];
+        return previous == head && isPassable(game, path[next]);
+    }
+
+    private boolean plan(SnakeGame game, int head, int apple) {
+        if (search(game, head, apple, Integer.MAX_VALUE) >= 0) return false;
+        plannedFrom = head;
+        pathLength = 0;
+        for (int cell = apple; cell != head; cell = parent[cell]) pathLength++;
+        int i = pathLength;
+        for (int cell = apple; cell != head; cell = parent[cell]) path[--i] = cell;
+        next = 0;
+        return true;
+    }
+
+    // Breadth-first search from start over passable cells, recording parents. Returns -1 as
+    // soon as target is reached, otherwise the number of cells reached, counting at most
+    // about limit.
+    private int search(SnakeGame game, int start, int target, int limit) {
+        nextEpoch();
+        int read = 0;
+        int write = 0;
+        queue[write++] = start;
+        seen[start] = epoch;
+        while (read < write && write < limit) {
+            int cell = queue[read++];
+            int x = cell % width;
+            int y = cell / width;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) continue;
+                int neighbour = ny * width + nx;
+                if (seen[neighbour] == epoch || !isPassable(game, neighbour)) continue;
+                seen[neighbour] = epoch;
+                parent[neighbour] = cell;
+                if (neighbour == target) return -1;
+                queue[write++] = neighbour;
+            }
+        }
+        return write;
+    }
+
+    // Picks the safe step with the most reachable cells behind it, counting up to the
+    // snake's length, which is as much room as it needs to keep moving.
+    private SnakeGame.Direction towardsSpace(SnakeGame game, int head) {
+        int limit = game.getSnakeLength() + 1;
+        SnakeGame.Direction best = null;
+        int bestRoom = -1;
+        int x = head % width;
+        int y = head / width;
+        for (int d = 0; d < 4; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (nx < 0 || ny < 0 || nx >= width || ny >= height) continue;
+            int cell = ny * width + nx;
+            if (!isPassable(game, cell)) continue;
+            int room = search(game, cell, -1, limit);
+            if (room > bestRoom) {
+                bestRoom = room;
+                best = DIRECTIONS[d];
+            }
+        }
+        return best;
+    }
+
+    private boolean isPassable(SnakeGame game, int cell) {
+        byte value = game.getCell(cell % width, cell / width);
+        return value == Board.EMPTY || value == Board.APPLE;
+    }
+
+    private SnakeGame.Direction directionTo(int from, int to) {
+        if (to == from - width) return SnakeGame.Direction.UP;
+        if (to == from + width) return SnakeGame.Direction.DOWN;
+        return to == from + 1 ? SnakeGame.Direction.RIGHT : SnakeGame.Direction.LEFT;
+    }
+
+    private int cellOf(int x, int y) {
+        return y * width + x;
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            epoch = 1;
+        }
+    }
+
+    private void ensureCapacity(int width, int height) {
+        if (width == this.width && height == this.height) return;
+        this.width = width;
+        this.height = height;
+        int area = width * height;
+        if (queue.length < area) {
+            queue = new int[area];
+            parent = new int[area];
+            seen = new int[area];
+            path = new int[area];
+        }
+        Arrays.fill(seen, 0);
+        epoch = 0;
+        invalidate();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.retroarcade.sim;
+
+// Welford's online mean/variance with min and max; constant memory, mergeable.
+public class RunningStat {
+    private long count;
+    private double mean;
+    private double m2;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void add(long value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public void merge(RunningStat other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getStdDev() { return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0; }
+    public long getMin() { return count == 0 ? 0 : min; }
+    public long getMax() { return count == 0 ? 0 : max; }
+
+    @Override
+    public String toString() {
+        return String.format("mean=%.2f sd=%.2f min=%d max=%d", getMean(), getStdDev(), getMin(), getMax());
+    }
+}
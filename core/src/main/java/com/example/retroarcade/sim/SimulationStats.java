@@ -0,0 +1,68 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.SnakeGame;
+
+// Aggregates finished games in fixed memory, independent of how many games are added.
+public class SimulationStats {
+
+    public static final int SCORE_BUCKETS = 64;
+
+    private final RunningStat score = new RunningStat();
+    private final RunningStat length = new RunningStat();
+    private final RunningStat ticks = new RunningStat();
+    private final long[] scoreHistogram = new long[SCORE_BUCKETS];
+    private final long[] reasons = new long[SnakeGame.GameOverReason.values().length];
+    private long tickLimitReached;
+
+    public void add(SnakeGame game) {
+        score.add(game.getScore());
+        length.add(game.getSnakeLength());
+        ticks.add(game.getTick());
+        scoreHistogram[Math.min(game.getScore(), SCORE_BUCKETS - 1)]++;
+        if (game.isPlaying()) {
+            tickLimitReached++;
+        } else {
+            reasons[game.getGameOverReason().ordinal()]++;
+        }
+    }
+
+    public void merge(SimulationStats other) {
+        score.merge(other.score);
+        length.merge(other.length);
+        ticks.merge(other.ticks);
+        for (int i = 0; i < SCORE_BUCKETS; i++) scoreHistogram[i] += other.scoreHistogram[i];
+        for (int i = 0; i < reasons.length; i++) reasons[i] += other.reasons[i];
+        tickLimitReached += other.tickLimitReached;
+    }
+
+    public long getGames() { return score.getCount(); }
+    public RunningStat getScore() { return score; }
+    public RunningStat getLength() { return length; }
+    public RunningStat getTicks() { return ticks; }
+    public long getTickLimitReached() { return tickLimitReached; }
+
+    // The last bucket also counts every score above it.
+    public long getScoreCount(int score) {
+        return scoreHistogram[Math.min(score, SCORE_BUCKETS - 1)];
+    }
+
+    public long getReasonCount(SnakeGame.GameOverReason reason) {
+        return reasons[reason.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("games=").append(getGames()).append('\n');
+        sb.append("score  ").append(score).append('\n');
+        sb.append("length ").append(length).append('\n');
+        sb.append("ticks  ").append(ticks).append('\n');
+        sb.append("deaths");
+        for (SnakeGame.GameOverReason reason : SnakeGame.GameOverReason.values()) {
+            if (reason == SnakeGame.GameOverReason.NONE) continue;
+            sb.append(' ').append(reason.name()).append('=').append(getReasonCount(reason));
+        }
+        sb.append(" TICK_LIMIT=").append(tickLimitReached);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.retroarcade;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.replay.ReplayRecorder;
+import com.example.retroarcade.sim.BotPolicy;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+// Helpers shared by tests across packages.
+public final class TestSupport {
+
+    private TestSupport() {
+    }
+
+    // Records a bot playing a freshly started game for at most maxTicks.
+    public static byte[] recordRun(SnakeGame game, BotPolicy bot, int maxTicks) {
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.start(game);
+        while (game.isPlaying() && game.getTick() < maxTicks) {
+            SnakeGame.Direction dir = bot.nextDirection(game);
+            if (dir != null) game.steerTo(dir);
+            game.update();
+        }
+        return recorder.finish();
+    }
+
+    public static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Runs window a few times and fails unless the quietest run allocated no more than
+    // reading the counter does. A background recompilation landing inside a window can
+    // show up as a one-off allocation; a per-call allocation shows up in every window.
+    public static void assertAllocatesNothing(String what, Runnable window) {
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+
+        long allocated = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 3 && allocated > overhead; attempt++) {
+            long before = allocatedBytes();
+            window.run();
+            allocated = Math.min(allocated, allocatedBytes() - before);
+        }
+        assertTrue(what + " allocated " + allocated + " bytes", allocated <= overhead);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.retroarcade.metrics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    @Test
+    public void buckets_coverEveryValueOnce() {
+        for (long v = 0; v < 1_000_000; v++) {
+            int index = Histogram.indexOf(v);
+            assertTrue(v <= Histogram.highestInBucket(index));
+            if (index > 0) assertTrue(v > Histogram.highestInBucket(index - 1));
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.indexOf((1L << 40) - 1));
+    }
+
+    @Test
+    public void percentiles_areWithinThreePercent() {
+        Random random = new Random(5);
+        long[] values = new long[100_000];
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(p);
+            assertTrue(p + ": " + reported + " vs " + exact, reported >= exact);
+            assertTrue(p + ": " + reported + " vs " + exact, reported <= exact + exact * 32 / 1000 + 1);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values.length, histogram.getCount());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.retroarcade.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoardTest {
+
+    // Fills the board in a shuffled order, drawing a cell before every fill and emptying
+    // some along the way, so the free list is swapped around from both ends.
+    private static void assertSamplesOnlyFreeCells(int width, int height) {
+        Board board = new Board(width, height);
+        GameRandom random = new GameRandom(5L);
+        int size = width * height;
+        int filled = 0;
+        while (true) {
+            int cell = board.randomFreeCell(random);
+            if (cell < 0) break;
+            assertEquals("cell " + cell, Board.EMPTY, board.get(cell));
+            board.set(cell, Board.SNAKE);
+            filled++;
+            if (filled % 7 == 0) {
+                int other = random.nextInt(size);
+                if (board.get(other) != Board.EMPTY) {
+                    board.set(other, Board.EMPTY);
+                    filled--;
+                }
+            }
+            assertEquals(size - filled, board.getFreeCount());
+        }
+        assertEquals(size, filled);
+        assertEquals(0, board.getFreeCount());
+    }
+
+    @Test
+    public void randomFreeCell_onlyReturnsFreeCellsUntilFull() {
+        assertSamplesOnlyFreeCells(20, 30);
+    }
+
+    @Test
+    public void randomFreeCell_sparseBoardOnlyReturnsFreeCellsUntilFull() {
+        assertSamplesOnlyFreeCells(300, 300);
+    }
+}
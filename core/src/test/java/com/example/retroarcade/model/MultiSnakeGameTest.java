@@ -0,0 +1,128 @@
+package com.example.retroarcade.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MultiSnakeGameTest {
+
+    private static final SnakeGame.Direction[] DIRECTIONS = SnakeGame.Direction.values();
+
+    // Two snakes side by side on one row: snake 0 heads right from x = 5, snake 1 from x = 15.
+    private static MultiSnakeGame twoSnakes() {
+        MultiSnakeGame game = new MultiSnakeGame(20, 3);
+        game.startNewGame(2, 1L);
+        assertEquals(6, game.getHeadX(0));
+        assertEquals(16, game.getHeadX(1));
+        return game;
+    }
+
+    @Test
+    public void headOnCollision_killsBoth() {
+        MultiSnakeGame game = twoSnakes();
+        game.setDirection(0, SnakeGame.Direction.UP);
+        game.setDirection(1, SnakeGame.Direction.UP);
+        game.update();
+        game.setDirection(0, SnakeGame.Direction.RIGHT);
+        game.setDirection(1, SnakeGame.Direction.LEFT);
+        // Heads at x = 6 and 16 on the top row meet at x = 11.
+        for (int i = 0; i < 4; i++) {
+            game.update();
+            assertTrue(game.isPlaying());
+        }
+        game.update();
+
+        assertFalse(game.isPlaying());
+        assertFalse(game.isAlive(0));
+        assertFalse(game.isAlive(1));
+        assertEquals(0, game.getAliveCount());
+    }
+
+    @Test
+    public void headIntoBody_killsOnlyTheMover() {
+        MultiSnakeGame game = twoSnakes();
+        // Snake 1 doubles back along the top row; snake 0 turns up into its side.
+        game.setDirection(1, SnakeGame.Direction.UP);
+        game.update();
+        game.setDirection(1, SnakeGame.Direction.LEFT);
+        for (int i = 0; i < 5; i++) game.update();
+        assertTrue(game.isPlaying());
+        game.setDirection(0, SnakeGame.Direction.UP);
+        game.update();
+
+        assertFalse(game.isPlaying());
+        assertFalse(game.isAlive(0));
+        assertTrue(game.isAlive(1));
+        assertEquals(10, game.getHeadX(1));
+        assertFalse(game.isWon());
+    }
+
+    @Test
+    public void headIntoItsOwnLeavingTail_collidesAsInSnakeGame() {
+        // Each seed puts the first apple right ahead of the head, so the snake grows to four
+        // and can then turn back into the cell its tail is leaving.
+        SnakeGame.Direction[] loop = {SnakeGame.Direction.RIGHT, SnakeGame.Direction.UP,
+                SnakeGame.Direction.LEFT, SnakeGame.Direction.DOWN};
+
+        SnakeGame single = new SnakeGame();
+        single.setBoardSize(20, 20);
+        single.startNewGame(SnakeGame.Difficulty.EASY, 896L);
+        assertEquals(11, single.getAppleX());
+        assertEquals(10, single.getAppleY());
+        for (SnakeGame.Direction dir : loop) {
+            single.steerTo(dir);
+            single.update();
+        }
+        assertFalse(single.isPlaying());
+        assertEquals(SnakeGame.GameOverReason.SELF, single.getGameOverReason());
+
+        // Snake 1 circles a square of its own, which at length three it can never catch up with.
+        MultiSnakeGame multi = new MultiSnakeGame(12, 5);
+        multi.startNewGame(2, 63L);
+        assertEquals(Board.APPLE, multi.getCell(multi.getHeadX(0) + 1, multi.getHeadY(0)));
+        SnakeGame.Direction[] circle = {SnakeGame.Direction.UP, SnakeGame.Direction.LEFT,
+                SnakeGame.Direction.DOWN, SnakeGame.Direction.RIGHT};
+        for (int i = 0; i < loop.length; i++) {
+            multi.setDirection(0, loop[i]);
+            multi.setDirection(1, circle[i]);
+            multi.update();
+            if (i == 0) assertEquals(4, multi.getSnakeLength(0));
+        }
+        assertFalse(multi.isAlive(0));
+        assertTrue(multi.isAlive(1));
+        assertFalse(multi.isPlaying());
+    }
+
+    @Test
+    public void manySnakes_keepTheBoardConsistent() {
+        MultiSnakeGame game = new MultiSnakeGame(200, 200);
+        game.startNewGame(MultiSnakeGame.MAX_SNAKES, 5L);
+        GameRandom random = new GameRandom(8L);
+
+        for (int tick = 0; tick < 5_000 && game.isPlaying(); tick++) {
+            for (int i = 0; i < game.getSnakeCount(); i++) {
+                if (game.isAlive(i) && random.nextInt(4) == 0) {
+                    game.setDirection(i, DIRECTIONS[random.nextInt(4)]);
+                }
+            }
+            game.update();
+        }
+
+        int bodyCells = 0;
+        int alive = 0;
+        for (int i = 0; i < game.getSnakeCount(); i++) {
+            if (game.isAlive(i)) {
+                alive++;
+                bodyCells += game.getSnakeLength(i);
+            }
+        }
+        int snakeCells = 0;
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 200; x++) {
+                if (game.getCell(x, y) == Board.SNAKE) snakeCells++;
+            }
+        }
+        assertEquals(alive, game.getAliveCount());
+        assertEquals(bodyCells, snakeCells);
+    }
+}
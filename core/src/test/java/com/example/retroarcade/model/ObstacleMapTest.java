@@ -0,0 +1,43 @@
+package com.example.retroarcade.model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ObstacleMapTest {
+
+    @Test
+    public void addAndRemove_matchReferenceSet() {
+        ObstacleMap map = new ObstacleMap(1000, 1000);
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 200_000; i++) {
+            int x = random.nextInt(300);
+            int y = random.nextInt(300);
+            int cell = y * 1000 + x;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(reference.add(cell), map.add(x, y));
+                    break;
+                case 1:
+                    assertEquals(reference.remove(cell), map.remove(x, y));
+                    break;
+                default:
+                    assertEquals(reference.contains(cell), map.contains(x, y));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        int[] cells = map.toCells();
+        assertEquals(reference.size(), cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            assertTrue(reference.contains(cells[i]));
+            if (i > 0) assertTrue(cells[i] > cells[i - 1]);
+        }
+    }
+}
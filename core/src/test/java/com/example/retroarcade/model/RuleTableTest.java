@@ -0,0 +1,85 @@
+package com.example.retroarcade.model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class RuleTableTest {
+
+    @Test
+    public void defaults_matchTheClassicRules() {
+        RuleTable table = RuleTable.defaults();
+
+        DifficultyRules easy = table.get(SnakeGame.Difficulty.EASY);
+        assertEquals(200, easy.delayMillis(0));
+        assertEquals(195, easy.delayMillis(1));
+        assertEquals(65, easy.delayMillis(27));
+        assertEquals(60, easy.delayMillis(28));
+        assertEquals(60, easy.delayMillis(1_000_000));
+        assertFalse(easy.hasReversedControls());
+
+        DifficultyRules medium = table.get(SnakeGame.Difficulty.MEDIUM);
+        assertEquals(3, medium.getLives());
+        assertEquals(5, medium.getStartBombs());
+        assertEquals(0, medium.getBombsPerApple());
+
+        DifficultyRules hard = table.get(SnakeGame.Difficulty.HARD);
+        assertEquals(1, hard.getLives());
+        assertEquals(10, hard.getStartBombs());
+        assertEquals(1, hard.getBombsPerApple());
+        assertTrue(hard.hasReversedControls());
+        assertEquals(SnakeGame.Direction.LEFT, hard.steer(SnakeGame.Direction.RIGHT));
+    }
+
+    @Test
+    public void loadedTable_drivesTheGame() throws IOException {
+        RuleTable table = RuleTable.load(new StringReader(
+                "# custom\n"
+                + "EASY    100 10 50 2 3 0 true\n"
+                + "MEDIUM  200 5  60 3 5 0 false\n"
+                + "HARD    200 5  60 1 10 1 true\n"));
+        SnakeGame game = new SnakeGame(table);
+        game.setBoardSize(30, 30);
+        game.startNewGame(SnakeGame.Difficulty.EASY, 1L);
+
+        assertEquals(2, game.getLives());
+        assertEquals(3, game.getBombCount());
+        assertEquals(100, game.calculateCurrentSpeed());
+        assertTrue(game.hasReversedControls());
+
+        game.setDirection(SnakeGame.Direction.DOWN);
+        game.update();
+        assertEquals(SnakeGame.Direction.UP, game.getDirection());
+    }
+
+    @Test
+    public void steerTo_headsThatWayAndReportsTheInputUnderReversedControls() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(30, 30);
+        game.startNewGame(SnakeGame.Difficulty.HARD, 1L);
+        SnakeGame.Direction[] reported = new SnakeGame.Direction[1];
+        game.setInputListener((tick, direction) -> reported[0] = direction);
+
+        game.steerTo(SnakeGame.Direction.DOWN);
+        game.update();
+
+        assertEquals(SnakeGame.Direction.DOWN, game.getDirection());
+        assertEquals(SnakeGame.Direction.UP, reported[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingDifficulty_isRejected() throws IOException {
+        RuleTable.load(new StringReader("EASY 200 5 60 1 0 0 false\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedRow_isRejected() throws IOException {
+        RuleTable.load(new StringReader(
+                "EASY 200 5 60 1 0 0 maybe\n"
+                + "MEDIUM 200 5 60 3 5 0 false\n"
+                + "HARD 200 5 60 1 10 1 true\n"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.retroarcade.model;
+
+import com.example.retroarcade.TestSupport;
+import com.example.retroarcade.sim.CycleBot;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SnakeGameTest {
+
+    private static void steerAroundSquare(SnakeGame game, int min, int max) {
+        int x = game.getSnakeX(0);
+        int y = game.getSnakeY(0);
+        if (y == min && x < max) game.setDirection(SnakeGame.Direction.RIGHT);
+        else if (x == max && y < max) game.setDirection(SnakeGame.Direction.DOWN);
+        else if (y == max && x > min) game.setDirection(SnakeGame.Direction.LEFT);
+        else game.setDirection(SnakeGame.Direction.UP);
+    }
+
+    @Test
+    public void update_movesHeadAndKeepsLength() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(40, 40);
+        // A seed whose first apple is not right in front of the head.
+        game.startNewGame(SnakeGame.Difficulty.EASY, 1L);
+        assertFalse(game.getAppleX() == 11 && game.getAppleY() == 10);
+
+        game.update();
+
+        assertTrue(game.isPlaying());
+        assertEquals(3, game.getSnakeLength());
+        assertEquals(11, game.getSnakeX(0));
+        assertEquals(10, game.getSnakeY(0));
+        assertEquals(9, game.getSnakeX(2));
+    }
+
+    @Test
+    public void quickTurnsBetweenTicks_areAppliedOnConsecutiveTicks() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(40, 40);
+
+        game.setDirection(SnakeGame.Direction.UP);
+        game.setDirection(SnakeGame.Direction.LEFT);
+        game.update();
+
+        assertEquals(SnakeGame.Direction.UP, game.getDirection());
+        assertEquals(10, game.getSnakeX(0));
+        assertEquals(9, game.getSnakeY(0));
+
+        game.update();
+
+        assertTrue(game.isPlaying());
+        assertEquals(SnakeGame.Direction.LEFT, game.getDirection());
+        assertEquals(9, game.getSnakeX(0));
+        assertEquals(9, game.getSnakeY(0));
+    }
+
+    @Test
+    public void reversalInput_isSkipped() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(40, 40);
+
+        game.setDirection(SnakeGame.Direction.LEFT);
+        game.setDirection(SnakeGame.Direction.DOWN);
+        game.update();
+
+        assertTrue(game.isPlaying());
+        assertEquals(SnakeGame.Direction.DOWN, game.getDirection());
+    }
+
+    @Test
+    public void fillingTheBoard_winsInsteadOfRespawning() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(12, 12);
+        game.startNewGame(SnakeGame.Difficulty.EASY, 3L);
+        CycleBot bot = new CycleBot();
+
+        for (int i = 0; i < 100_000 && game.isPlaying(); i++) {
+            game.steerTo(bot.nextDirection(game));
+            game.update();
+        }
+
+        assertFalse(game.isPlaying());
+        assertTrue(game.isWon());
+        assertEquals(SnakeGame.GameOverReason.BOARD_FULL, game.getGameOverReason());
+        assertEquals(12 * 12, game.getSnakeLength());
+        assertFalse(game.hasApple());
+    }
+
+    @Test
+    public void update_steadyStateTickAllocatesNothing() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(200, 200);
+
+        for (int i = 0; i < 20_000; i++) {
+            steerAroundSquare(game, 10, 29);
+            game.update();
+        }
+        assertTrue(game.isPlaying());
+
+        TestSupport.assertAllocatesNothing("tick", () -> {
+            for (int i = 0; i < 10_000; i++) {
+                steerAroundSquare(game, 10, 29);
+                game.update();
+            }
+        });
+        assertTrue(game.isPlaying());
+    }
+
+    @Test
+    public void sameSeedAndInputs_playOutIdentically() {
+        SnakeGame first = new SnakeGame();
+        SnakeGame second = new SnakeGame();
+        first.setBoardSize(30, 30);
+        second.setBoardSize(30, 30);
+        first.startNewGame(SnakeGame.Difficulty.HARD, 42L);
+        second.startNewGame(SnakeGame.Difficulty.HARD, 42L);
+
+        SnakeGame.Direction[] inputs = SnakeGame.Direction.values();
+        for (int i = 0; i < 500 && first.isPlaying(); i++) {
+            if (i % 7 == 0) {
+                first.setDirection(inputs[(i / 7) % inputs.length]);
+                second.setDirection(inputs[(i / 7) % inputs.length]);
+            }
+            first.update();
+            second.update();
+
+            assertEquals(first.isPlaying(), second.isPlaying());
+            assertEquals(first.getScore(), second.getScore());
+            assertEquals(first.getAppleX(), second.getAppleX());
+            assertEquals(first.getAppleY(), second.getAppleY());
+            assertEquals(first.getBombCount(), second.getBombCount());
+            assertEquals(first.getSnakeLength(), second.getSnakeLength());
+            assertEquals(first.getSnakeX(0), second.getSnakeX(0));
+            assertEquals(first.getSnakeY(0), second.getSnakeY(0));
+        }
+    }
+
+    @Test
+    public void restoredSnapshot_continuesIdentically() {
+        SnakeGame original = new SnakeGame();
+        original.setBoardSize(30, 30);
+        original.startNewGame(SnakeGame.Difficulty.HARD, 7L);
+        for (int i = 0; i < 200 && original.isPlaying(); i++) {
+            if (i % 5 == 0) original.setDirection(SnakeGame.Direction.values()[(i / 5) % 4]);
+            original.update();
+        }
+
+        byte[] snapshot = original.saveSnapshot();
+        SnakeGame restored = new SnakeGame();
+        restored.restoreSnapshot(snapshot);
+
+        assertArrayEquals(snapshot, restored.saveSnapshot());
+        for (int i = 0; i < 2_000 && original.isPlaying(); i++) {
+            if (i % 3 == 0) {
+                original.setDirection(SnakeGame.Direction.values()[(i / 3) % 4]);
+                restored.setDirection(SnakeGame.Direction.values()[(i / 3) % 4]);
+            }
+            original.update();
+            restored.update();
+            assertArrayEquals(original.saveSnapshot(), restored.saveSnapshot());
+        }
+    }
+
+    @Test
+    public void restoredSnapshot_keepsItsBoardWhenTheViewResizes() {
+        SnakeGame original = new SnakeGame();
+        original.setBoardSize(20, 30);
+        original.startNewGame(SnakeGame.Difficulty.EASY, 3L);
+        for (int i = 0; i < 8; i++) {
+            original.steerTo(i < 4 ? SnakeGame.Direction.DOWN : SnakeGame.Direction.RIGHT);
+            original.update();
+        }
+        assertTrue(original.isPlaying());
+
+        byte[] snapshot = original.saveSnapshot();
+        SnakeGame restored = new SnakeGame();
+        restored.restoreSnapshot(snapshot);
+        restored.fitBoard(1080, 432);
+
+        assertTrue(restored.isPlaying());
+        assertEquals(20, restored.getWidth());
+        assertEquals(30, restored.getHeight());
+        assertArrayEquals(snapshot, restored.saveSnapshot());
+    }
+
+    @Test
+    public void largeBoard_playsAndRestoresFromSparseSnapshot() {
+        SnakeGame original = new SnakeGame();
+        original.lockBoardSize(1000, 1000);
+        original.startNewGame(SnakeGame.Difficulty.HARD, 11L);
+        original.fitBoard(1080, 1920);
+
+        assertEquals(1000, original.getWidth());
+        for (int i = 0; i < 500 && original.isPlaying(); i++) {
+            steerAroundSquare(original, 5, 40);
+            original.update();
+        }
+        assertTrue(original.isPlaying());
+
+        // Nothing in the snapshot scales with the board's area.
+        byte[] snapshot = original.saveSnapshot();
+        assertTrue(snapshot.length < 1024);
+
+        SnakeGame restored = new SnakeGame();
+        restored.restoreSnapshot(snapshot);
+        for (int i = 0; i < 2_000 && original.isPlaying(); i++) {
+            steerAroundSquare(original, 5, 40);
+            steerAroundSquare(restored, 5, 40);
+            original.update();
+            restored.update();
+            assertArrayEquals(original.saveSnapshot(), restored.saveSnapshot());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.retroarcade.replay;
+
+import com.example.retroarcade.TestSupport;
+import com.example.retroarcade.engine.SpriteSink;
+import com.example.retroarcade.engine.TileLayer;
+import com.example.retroarcade.model.Board;
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.sim.CycleBot;
+import com.example.retroarcade.sim.GreedyBot;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GhostRunTest {
+
+    private static SnakeGame newGame(long seed) {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(20, 30);
+        game.startNewGame(SnakeGame.Difficulty.EASY, seed);
+        return game;
+    }
+
+    private static final class CountingSink implements SpriteSink {
+        int sprites;
+
+        @Override
+        public void sprite(int tile, int fromX, int fromY, int toX, int toY) {
+            sprites++;
+        }
+
+        @Override
+        public void focus(int fromX, int fromY, int toX, int toY) {
+        }
+    }
+
+    @Test
+    public void followsTheRecordedRunWhileTheLiveGamePlaysItsOwn() {
+        byte[] recording = TestSupport.recordRun(newGame(5L), new GreedyBot(5L, 10), 5_000);
+        ReplayPlayer reference = new ReplayPlayer(recording);
+        SnakeGame expected = new SnakeGame();
+        reference.reset(expected);
+
+        SnakeGame live = newGame(5L);
+        GhostRun ghost = new GhostRun(recording);
+        assertTrue(ghost.start(live));
+        CycleBot bot = new CycleBot();
+        CountingSink sink = new CountingSink();
+
+        boolean referenceRunning = true;
+        while (referenceRunning) {
+            live.steerTo(bot.nextDirection(live));
+            live.update();
+            ghost.step();
+            referenceRunning = reference.step(expected);
+
+            assertEquals(referenceRunning, ghost.isRunning());
+            assertEquals(expected.getTick(), ghost.getTick());
+            if (!referenceRunning) break;
+
+            // Only the head and the tail's last step are sprites; the rest is tiles.
+            assertTrue(ghost.getDirtyCount() > 0 || ghost.needsFullRedraw());
+            ghost.clearDirtyCells();
+            sink.sprites = 0;
+            ghost.emitSprites(sink);
+            assertEquals(expected.hasVacatedCell() ? 2 : 1, sink.sprites);
+            assertEquals(expected.getSnakeX(0), ghost.getHeadX());
+            assertEquals(expected.getSnakeY(0), ghost.getHeadY());
+            assertEquals(TileLayer.TILE_EMPTY, ghost.getTile(ghost.getHeadX(), ghost.getHeadY()));
+            for (int i = 1; i < expected.getSnakeLength(); i++) {
+                assertEquals(Board.SNAKE,
+                        ghost.getTile(expected.getSnakeX(i), expected.getSnakeY(i)));
+            }
+        }
+        assertEquals(expected.getScore(), ghost.getScore());
+
+        // Vanishing takes the drawn body with it.
+        assertTrue(ghost.needsFullRedraw());
+        sink.sprites = 0;
+        ghost.emitSprites(sink);
+        assertEquals(0, sink.sprites);
+        assertEquals(TileLayer.TILE_EMPTY,
+                ghost.getTile(expected.getSnakeX(1), expected.getSnakeY(1)));
+    }
+
+    @Test
+    public void staysHiddenForADifferentDeal() {
+        GhostRun ghost = new GhostRun(
+                TestSupport.recordRun(newGame(5L), new GreedyBot(5L, 10), 1_000));
+
+        assertFalse(ghost.start(newGame(6L)));
+
+        SnakeGame resized = new SnakeGame();
+        resized.setBoardSize(21, 30);
+        resized.startNewGame(SnakeGame.Difficulty.EASY, 5L);
+        assertFalse(ghost.start(resized));
+
+        SnakeGame started = newGame(5L);
+        started.update();
+        assertFalse(ghost.start(started));
+
+        CountingSink sink = new CountingSink();
+        ghost.step();
+        ghost.emitSprites(sink);
+        assertEquals(0, sink.sprites);
+        assertEquals(TileLayer.TILE_EMPTY, ghost.getTile(9, 10));
+    }
+
+    @Test
+    public void steadyStateTickAndDrawAllocateNothing() {
+        byte[] recording = TestSupport.recordRun(newGame(9L), new CycleBot(), 5_000);
+        GhostRun ghost = new GhostRun(recording);
+        assertTrue(ghost.start(newGame(9L)));
+        CountingSink sink = new CountingSink();
+        for (int i = 0; i < 1_000; i++) {
+            ghost.step();
+            ghost.emitSprites(sink);
+            ghost.clearDirtyCells();
+        }
+        assertTrue(ghost.isRunning());
+
+        TestSupport.assertAllocatesNothing("ghost", () -> {
+            for (int i = 0; i < 500 && ghost.isRunning(); i++) {
+                ghost.step();
+                ghost.emitSprites(sink);
+                ghost.clearDirtyCells();
+            }
+        });
+        assertTrue(ghost.isRunning());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.retroarcade.replay;
+
+import com.example.retroarcade.TestSupport;
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.sim.BotPolicy;
+import com.example.retroarcade.sim.CycleBot;
+import com.example.retroarcade.sim.GreedyBot;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReplayPlayerTest {
+
+    private static byte[] record(SnakeGame.Difficulty difficulty, long seed, BotPolicy bot, int maxTicks) {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(20, 30);
+        game.startNewGame(difficulty, seed);
+        return TestSupport.recordRun(game, bot, maxTicks);
+    }
+
+    @Test
+    public void verify_acceptsRecordedGames() {
+        for (SnakeGame.Difficulty difficulty : SnakeGame.Difficulty.values()) {
+            for (long seed = 1; seed <= 20; seed++) {
+                byte[] replay = record(difficulty, seed, new GreedyBot(seed, 10), 5_000);
+                assertTrue(difficulty + " seed " + seed, new ReplayPlayer(replay).verify(new SnakeGame()));
+            }
+        }
+    }
+
+    @Test
+    public void verify_rejectsTamperedScore() {
+        byte[] replay = record(SnakeGame.Difficulty.MEDIUM, 7L, new GreedyBot(7L, 10), 5_000);
+        replay[replay.length - 1]++;
+        assertFalse(new ReplayPlayer(replay).verify(new SnakeGame()));
+    }
+
+    @Test
+    public void longGame_staysCompact() {
+        byte[] replay = record(SnakeGame.Difficulty.EASY, 3L, new CycleBot(), 10_000);
+        ReplayPlayer player = new ReplayPlayer(replay);
+        SnakeGame game = new SnakeGame();
+
+        assertTrue(player.verify(game));
+        assertEquals(10_000, game.getTick());
+        assertTrue(replay.length + " bytes", replay.length < 4_096);
+    }
+}
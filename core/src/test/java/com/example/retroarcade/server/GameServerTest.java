@@ -0,0 +1,117 @@
+package com.example.retroarcade.server;
+
+import com.example.retroarcade.model.SnakeGame;
+import com.example.retroarcade.replay.ByteSink;
+import com.example.retroarcade.sim.CycleBot;
+import com.example.retroarcade.sim.PathBot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class GameServerTest {
+
+    private static void assertMirrors(SnakeGame game, BoardMirror mirror) {
+        assertEquals(game.getTick(), mirror.getTick());
+        assertEquals(game.getScore(), mirror.getScore());
+        assertEquals(game.isPlaying(), mirror.isPlaying());
+        assertEquals(game.getSnakeX(0), mirror.getHeadX());
+        assertEquals(game.getSnakeY(0), mirror.getHeadY());
+        for (int y = 0; y < game.getHeight(); y++) {
+            for (int x = 0; x < game.getWidth(); x++) {
+                assertEquals(game.getCell(x, y), mirror.getCell(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void deltas_keepClientsInSync() {
+        Room room = new Room(SnakeGame.Difficulty.HARD, 4L, 30, 30, new PathBot());
+        LoopbackClient early = new LoopbackClient();
+        early.connect(room);
+        LoopbackClient late = new LoopbackClient();
+
+        for (int i = 0; i < 2_000 && !room.isFinished(); i++) {
+            if (i == 500) late.connect(room);
+            room.tick();
+            assertMirrors(room.getGame(), early.getMirror());
+            if (i >= 500) assertMirrors(room.getGame(), late.getMirror());
+        }
+        assertTrue(room.getGame().getScore() > 5);
+
+        // A tick changes a few cells, so after the first keyframe frames stay tiny.
+        long deltaBytes = early.getBytesReceived() - late.getBytesReceived();
+        long deltaFrames = early.getFramesReceived() - late.getFramesReceived();
+        assertTrue(deltaBytes / deltaFrames < 16);
+    }
+
+    @Test
+    public void server_runsManyRoomsConcurrently() throws InterruptedException {
+        List<Room> rooms = new ArrayList<>();
+        List<LoopbackClient> clients = new ArrayList<>();
+        GameServer server = new GameServer(2, TimeUnit.MILLISECONDS.toNanos(5));
+        for (int i = 0; i < 40; i++) {
+            Room room = server.openRoom(SnakeGame.Difficulty.EASY, i, 20, 30, new CycleBot());
+            LoopbackClient client = new LoopbackClient();
+            client.connect(room);
+            rooms.add(room);
+            clients.add(client);
+        }
+        while (server.getTicks() < 100) Thread.sleep(10);
+        server.close();
+
+        for (int i = 0; i < rooms.size(); i++) {
+            SnakeGame game = rooms.get(i).getGame();
+            assertTrue(game.getTick() > 0);
+            assertMirrors(game, clients.get(i).getMirror());
+        }
+    }
+
+    @Test
+    public void mirror_rejectsACellOutsideTheBoardAndKeepsItsState() {
+        Room room = new Room(SnakeGame.Difficulty.EASY, 2L, 20, 30, new CycleBot());
+        LoopbackClient client = new LoopbackClient();
+        client.connect(room);
+        room.tick();
+        BoardMirror mirror = client.getMirror();
+
+        ByteSink frame = new ByteSink(32);
+        frame.writeByte(FrameFormat.DELTA);
+        frame.writeVarint(99);
+        frame.writeVarint(7);
+        frame.writeVarint(1);
+        frame.writeByte(FrameFormat.FLAG_PLAYING);
+        frame.writeVarint(1);
+        frame.writeVarint(1);
+        frame.writeVarint((long) (20 * 30) << FrameFormat.VALUE_BITS);
+        try {
+            mirror.apply(frame.array(), frame.size());
+            fail("Applied a cell outside the board");
+        } catch (IllegalArgumentException expected) {
+            // The frame is dropped whole.
+        }
+        assertMirrors(room.getGame(), mirror);
+    }
+
+    @Test
+    public void server_failsARoomThatThrowsAndKeepsTheOthersTicking()
+            throws InterruptedException {
+        GameServer server = new GameServer(1, TimeUnit.MILLISECONDS.toNanos(5));
+        Room broken = server.openRoom(SnakeGame.Difficulty.EASY, 1L, 20, 30, game -> {
+            throw new IllegalStateException("bot crashed");
+        });
+        Room healthy = server.openRoom(SnakeGame.Difficulty.EASY, 2L, 20, 30, new CycleBot());
+        while (server.getTicks() < 20) Thread.sleep(10);
+        server.close();
+
+        assertTrue(broken.isFinished());
+        assertEquals("bot crashed", broken.getFailure().getMessage());
+        assertFalse(healthy.isFinished());
+        assertNull(healthy.getFailure());
+        assertTrue(healthy.getGame().getTick() >= 19);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.model.SnakeGame;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BatchSimulatorTest {
+
+    @Test
+    public void run_isIndependentOfParallelism() {
+        BatchSimulator parallel = new BatchSimulator(new ForkJoinPool(4),
+                SnakeGame.Difficulty.MEDIUM, 20, 30, 5_000, seed -> new GreedyBot(seed, 10));
+        BatchSimulator serial = new BatchSimulator(new ForkJoinPool(1),
+                SnakeGame.Difficulty.MEDIUM, 20, 30, 5_000, seed -> new GreedyBot(seed, 10));
+
+        SimulationStats a = parallel.run(99L, 2_000);
+        SimulationStats b = serial.run(99L, 2_000);
+
+        assertEquals(2_000, a.getGames());
+        assertEquals(a.getGames(), b.getGames());
+        assertEquals(a.getScore().getMax(), b.getScore().getMax());
+        assertEquals(a.getScore().getMean(), b.getScore().getMean(), 1e-9);
+        for (SnakeGame.GameOverReason reason : SnakeGame.GameOverReason.values()) {
+            assertEquals(a.getReasonCount(reason), b.getReasonCount(reason));
+        }
+        for (int score = 0; score < SimulationStats.SCORE_BUCKETS; score++) {
+            assertEquals(a.getScoreCount(score), b.getScoreCount(score));
+        }
+    }
+
+    @Test
+    public void cycleBot_neverDies() {
+        BatchSimulator simulator = new BatchSimulator(SnakeGame.Difficulty.EASY, 20, 30, 20_000,
+                seed -> new CycleBot());
+
+        SimulationStats stats = simulator.run(1L, 16);
+
+        assertEquals(0, stats.getReasonCount(SnakeGame.GameOverReason.WALL));
+        assertEquals(0, stats.getReasonCount(SnakeGame.GameOverReason.SELF));
+        assertTrue(stats.getScore().getMin() > 0);
+    }
+}
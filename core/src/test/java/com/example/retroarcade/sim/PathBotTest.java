@@ -0,0 +1,44 @@
+package com.example.retroarcade.sim;
+
+import com.example.retroarcade.TestSupport;
+import com.example.retroarcade.model.SnakeGame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PathBotTest {
+
+    private static void step(SnakeGame game, PathBot bot) {
+        SnakeGame.Direction dir = bot.nextDirection(game);
+        if (dir != null) game.steerTo(dir);
+        game.update();
+    }
+
+    @Test
+    public void outscoresGreedyBot() {
+        SimulationStats path = new BatchSimulator(SnakeGame.Difficulty.HARD, 20, 30, 20_000,
+                seed -> new PathBot()).run(3L, 200);
+        SimulationStats greedy = new BatchSimulator(SnakeGame.Difficulty.HARD, 20, 30, 20_000,
+                seed -> new GreedyBot(seed, 0)).run(3L, 200);
+
+        assertTrue(path.getScore().getMean() + " vs " + greedy.getScore().getMean(),
+                path.getScore().getMean() > greedy.getScore().getMean());
+    }
+
+    @Test
+    public void steadyStatePlanningAllocatesNothing() {
+        SnakeGame game = new SnakeGame();
+        game.setBoardSize(200, 200);
+        game.startNewGame(SnakeGame.Difficulty.EASY, 21L);
+        PathBot bot = new PathBot();
+        for (int i = 0; i < 20_000 && game.isPlaying(); i++) step(game, bot);
+        assertTrue(game.isPlaying());
+        assertTrue(game.getScore() > 20);
+
+        TestSupport.assertAllocatesNothing("planning", () -> {
+            for (int i = 0; i < 10_000 && game.isPlaying(); i++) step(game, bot);
+        });
+        assertTrue(game.isPlaying());
+    }
+}